@@ -0,0 +1,79 @@
+// src/main/java/com/example/demo/Cache/CacheLimitado.java
+package com.example.demo.Cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU com tamanho máximo: LinkedHashMap em ordem de acesso,
+ * descartando o menos usado quando passa da capacidade.
+ *
+ * Os acessos são sincronizados (o mapa reordena a cada get); os
+ * contadores de acerto/falha/descarte ficam fora do lock.
+ */
+public class CacheLimitado<K, V> {
+
+    private final String nome;
+    private final int capacidade;
+    private final Map<K, V> mapa;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder descartes = new LongAdder();
+
+    public CacheLimitado(String nome, int capacidade) {
+        if (capacidade <= 0) throw new IllegalArgumentException("capacidade deve ser positiva");
+        this.nome = nome;
+        this.capacidade = capacidade;
+        this.mapa = new LinkedHashMap<>(Math.min(capacidade, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> maisAntigo) {
+                boolean passou = size() > CacheLimitado.this.capacidade;
+                if (passou) descartes.increment();
+                return passou;
+            }
+        };
+    }
+
+    /** Valor em cache ou null (conta acerto/falha) */
+    public V get(K chave) {
+        V v;
+        synchronized (mapa) {
+            v = mapa.get(chave);
+        }
+        if (v != null) acertos.increment();
+        else falhas.increment();
+        return v;
+    }
+
+    public void put(K chave, V valor) {
+        if (chave == null || valor == null) return;
+        synchronized (mapa) {
+            mapa.put(chave, valor);
+        }
+    }
+
+    public void invalidar(K chave) {
+        synchronized (mapa) {
+            mapa.remove(chave);
+        }
+    }
+
+    public void limpar() {
+        synchronized (mapa) {
+            mapa.clear();
+        }
+    }
+
+    public int tamanho() {
+        synchronized (mapa) {
+            return mapa.size();
+        }
+    }
+
+    public EstatisticasCache estatisticas() {
+        return new EstatisticasCache(nome, tamanho(), capacidade,
+                acertos.sum(), falhas.sum(), descartes.sum());
+    }
+}
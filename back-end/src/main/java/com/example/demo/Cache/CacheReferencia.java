@@ -0,0 +1,96 @@
+// src/main/java/com/example/demo/Cache/CacheReferencia.java
+package com.example.demo.Cache;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache de dados de referência (bairros, tipos de imóveis), que quase
+ * nunca mudam mas são lidos em todo formulário e painel de filtros:
+ *
+ *  - a lista completa fica num snapshot imutável (List.copyOf), carregado
+ *    uma vez e entregue como está para todos os pedidos;
+ *  - os lookups por id passam por um CacheLimitado.
+ *
+ * O serviço dono chama gravado()/removido() depois de cada escrita
+ * (write-through): o id é atualizado/removido e o snapshot é descartado.
+ * Um contador de versão impede que uma carga iniciada antes da escrita
+ * publique dados velhos depois dela.
+ */
+public class CacheReferencia<T> {
+
+    private final String nome;
+    private final Supplier<List<T>> carregarTodos;
+    private final Function<Integer, Optional<T>> carregarUm;
+    private final Function<T, Integer> idDe;
+    private final CacheLimitado<Integer, T> porId;
+
+    private final AtomicLong versao = new AtomicLong();
+    private volatile List<T> snapshot;
+
+    private final LongAdder acertosLista = new LongAdder();
+    private final LongAdder falhasLista = new LongAdder();
+
+    public CacheReferencia(String nome, int capacidade,
+                           Supplier<List<T>> carregarTodos,
+                           Function<Integer, Optional<T>> carregarUm,
+                           Function<T, Integer> idDe) {
+        this.nome = nome;
+        this.carregarTodos = carregarTodos;
+        this.carregarUm = carregarUm;
+        this.idDe = idDe;
+        this.porId = new CacheLimitado<>(nome + ".porId", capacidade);
+    }
+
+    /** Lista completa, imutável */
+    public List<T> todos() {
+        List<T> atual = snapshot;
+        if (atual != null) {
+            acertosLista.increment();
+            return atual;
+        }
+        falhasLista.increment();
+        long v = versao.get();
+        List<T> carregado = List.copyOf(carregarTodos.get());
+        if (versao.get() == v) snapshot = carregado;
+        return carregado;
+    }
+
+    /** Busca por id; null se não existir (ausência não é guardada) */
+    public T porId(Integer id) {
+        if (id == null) return null;
+        T v = porId.get(id);
+        if (v != null) return v;
+
+        long antes = versao.get();
+        T carregado = carregarUm.apply(id).orElse(null);
+        if (carregado != null && versao.get() == antes) porId.put(id, carregado);
+        return carregado;
+    }
+
+    /** Chamar depois de insert/update gravados no banco */
+    public void gravado(T valor) {
+        versao.incrementAndGet();
+        snapshot = null;
+        if (valor != null) porId.put(idDe.apply(valor), valor);
+    }
+
+    /** Chamar depois de um delete */
+    public void removido(Integer id) {
+        versao.incrementAndGet();
+        snapshot = null;
+        porId.invalidar(id);
+    }
+
+    public List<EstatisticasCache> estatisticas() {
+        List<T> atual = snapshot;
+        return List.of(
+                new EstatisticasCache(nome + ".lista", atual == null ? 0 : atual.size(), 0,
+                        acertosLista.sum(), falhasLista.sum(), 0),
+                porId.estatisticas());
+    }
+}
@@ -0,0 +1,17 @@
+// src/main/java/com/example/demo/Cache/EstatisticasCache.java
+package com.example.demo.Cache;
+
+/** Foto dos contadores de um cache (GET .../cache); capacidade 0 = sem limite */
+public record EstatisticasCache(
+        String nome,
+        int tamanho,
+        int capacidade,
+        long acertos,
+        long falhas,
+        long descartes) {
+
+    public double taxaAcerto() {
+        long total = acertos + falhas;
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+}
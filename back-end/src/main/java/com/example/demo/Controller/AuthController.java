@@ -4,21 +4,35 @@ package com.example.demo.Controller;
 import com.example.demo.Models.UserModel;
 import com.example.demo.Repositories.UserRepository;
 import com.example.demo.Security.JwtService;
+import com.example.demo.Security.LimitadorLogin;
+import com.example.demo.Security.RevogacaoTokens;
+import com.example.demo.Security.SenhaIndisponivelException;
+import com.example.demo.Security.SenhaService;
+import com.example.demo.Security.SessionService;
 import com.example.demo.dtos.AuthResponseDTO;
 import com.example.demo.dtos.LoginRequestDTO;
+import com.example.demo.dtos.RefreshRequestDTO;
 import com.example.demo.dtos.UserDTO;
+import com.example.demo.config.ContextoRequisicao;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/auth")
@@ -30,60 +44,166 @@ public class AuthController {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private SenhaService senhaService;
+
+    @Autowired
+    private LimitadorLogin limitador;
+
+    // refresh tokens opacos (TTL absoluto/ocioso, rotação a cada uso)
+    @Autowired
+    private SessionService refreshTokens;
+
+    @Autowired
+    private RevogacaoTokens revogacoes;
 
     @Autowired
     private JwtService jwtService;
 
+    /**
+     * A verificação BCrypt roda no pool do SenhaService e a resposta é
+     * assíncrona: a thread do Tomcat é liberada enquanto o hash é calculado.
+     * Pool cheio → 503 (SenhaIndisponivelException).
+     * Muitas tentativas para o e-mail ou o IP → 429, antes de qualquer consulta ou BCrypt
+     * (a ficha é reservada já aqui; só o login certo a devolve).
+     */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequestDTO data) {
-
-        log.info("[AuthController] Tentativa de login para email={}", data.getEmail());
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequestDTO data,
+                                                     HttpServletRequest request) {
+
+        // resultado vai na linha única da requisição (LogRequisicaoFilter); o BCrypt
+        // termina em outra thread, então guarda a referência do contexto
+        ContextoRequisicao contexto = ContextoRequisicao.atual();
+
+        // 0) Freio de tentativas (por e-mail e por IP): reserva a ficha antes de conferir
+        String ip = request.getRemoteAddr();
+        long espera = limitador.tentar(data.getEmail(), ip);
+        if (espera > 0) {
+            contexto.com("login", "bloqueado");
+            return CompletableFuture.completedFuture(ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(espera))
+                    .body(Map.of("message", "Muitas tentativas de login. Tente novamente mais tarde.")));
+        }
 
         // 1) Busca usuário por e-mail
         Optional<UserModel> optUser = userRepository.findByEmail(data.getEmail());
         if (optUser.isEmpty()) {
-            log.warn("[AuthController] Usuário não encontrado para email={}", data.getEmail());
-            return ResponseEntity
-                    .status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Credenciais inválidas"));
+            contexto.com("login", "usuario_inexistente");
+            return CompletableFuture.completedFuture(credenciaisInvalidas());
         }
 
         UserModel user = optUser.get();
-        log.info("[AuthController] Usuário encontrado: id={}, email={}", user.getId(), user.getEmail());
+        contexto.com("uid", user.getId());
 
         String senhaDigitada = data.getPassword();
         String senhaBanco = user.getPassword();
 
-        boolean senhaOk;
-
-        // 2) Se a senha do banco parece ser um hash BCrypt, usa passwordEncoder.matches
+        // 2) Se a senha do banco parece ser um hash BCrypt, confere no pool do SenhaService
         if (isBcryptHash(senhaBanco)) {
-            senhaOk = passwordEncoder.matches(senhaDigitada, senhaBanco);
-            log.info("[AuthController] Verificando senha com BCrypt: resultado={}", senhaOk);
-        } else {
-            // 3) Caso de ambiente de teste/legado com senha em texto puro
-            senhaOk = senhaDigitada != null && senhaDigitada.equals(senhaBanco);
-            log.warn("[AuthController] Senha no banco NÃO parece BCrypt. Comparando texto puro. resultado={}",
-                    senhaOk);
+            try {
+                return senhaService.confere(senhaDigitada, senhaBanco).thenApply(senhaOk ->
+                        senhaOk ? loginOk(user, ip, contexto) : falha(contexto));
+            } catch (SenhaIndisponivelException e) {
+                // 503 sem conferir a senha: não conta como tentativa
+                limitador.devolver(data.getEmail(), ip);
+                throw e;
+            }
         }
 
+        // 3) Caso de ambiente de teste/legado com senha em texto puro
+        boolean senhaOk = senhaDigitada != null && senhaBanco != null && MessageDigest.isEqual(
+                senhaDigitada.getBytes(StandardCharsets.UTF_8), senhaBanco.getBytes(StandardCharsets.UTF_8));
+        contexto.com("senha", "legada");
         if (!senhaOk) {
-            log.warn("[AuthController] Senha inválida para email={}", data.getEmail());
+            return CompletableFuture.completedFuture(falha(contexto));
+        }
+
+        // senha certa em texto puro: troca por BCrypt em segundo plano (não atrasa o login)
+        try {
+            senhaService.hash(senhaDigitada)
+                    .thenAccept(hash -> {
+                        user.setPassword(hash);
+                        userRepository.save(user);
+                        log.info("[AuthController] Senha legada do usuário id={} migrada para BCrypt", user.getId());
+                    })
+                    .exceptionally(e -> {
+                        log.warn("[AuthController] Falha ao migrar senha do usuário id={}: {}", user.getId(), e.getMessage());
+                        return null;
+                    });
+        } catch (SenhaIndisponivelException e) {
+            // pool cheio: fica para o próximo login
+            log.warn("[AuthController] Pool de BCrypt cheio; migração da senha do usuário id={} adiada", user.getId());
+        }
+
+        return CompletableFuture.completedFuture(loginOk(user, ip, contexto));
+    }
+
+    /** 4) Gera token JWT e 5) monta a resposta */
+    private ResponseEntity<?> loginOk(UserModel user, String ip, ContextoRequisicao contexto) {
+        limitador.registrarSucesso(user.getEmail(), ip);
+        contexto.com("login", "ok");
+        return ResponseEntity.ok(tokens(user));
+    }
+
+    private AuthResponseDTO tokens(UserModel user) {
+        String token = jwtService.generateToken(user);
+        String refresh = refreshTokens.create(user.getId());
+        return new AuthResponseDTO(token, refresh, new UserDTO(user));
+    }
+
+    /**
+     * Troca um refresh token por um novo par (acesso + refresh).
+     * O refresh usado é invalidado na hora (rotação): cada um vale uma vez só.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequestDTO data) {
+        String refresh = data.getRefreshToken();
+        // lê e invalida num passo só: com o mesmo refresh em paralelo, só um pedido leva
+        Integer userId = refreshTokens.consumir(refresh);
+
+        // role/nome podem ter mudado: relê o usuário (só aqui, não a cada requisição)
+        UserModel user = userId == null ? null : userRepository.findById(userId).orElse(null);
+        if (user == null) {
             return ResponseEntity
                     .status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Credenciais inválidas"));
+                    .body(Map.of("message", "Refresh token inválido ou expirado"));
         }
+        return ResponseEntity.ok(tokens(user));
+    }
 
-        // 4) Gera token JWT
-        String token = jwtService.generateToken(user);
-        log.info("[AuthController] Login bem-sucedido para email={}", data.getEmail());
+    /**
+     * Encerra a sessão: revoga o token de acesso atual (pelo jti, até o exp)
+     * e descarta o refresh token, se vier.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String auth,
+            @RequestBody(required = false) RefreshRequestDTO data) {
+
+        if (auth != null && auth.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtService.validateAndGetClaims(auth.substring(7));
+                if (claims.getExpiration() != null) {
+                    revogacoes.revogar(claims.getId(), claims.getExpiration().getTime());
+                }
+            } catch (JwtException e) {
+                // token já inválido/expirado: nada a revogar
+            }
+        }
+        if (data != null) refreshTokens.delete(data.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 
-        // 5) Monta resposta
-        UserDTO userDTO = new UserDTO(user);
-        AuthResponseDTO response = new AuthResponseDTO(token, userDTO);
+    /** A ficha reservada em tentar() fica gasta */
+    private ResponseEntity<?> falha(ContextoRequisicao contexto) {
+        contexto.com("login", "senha_invalida");
+        return credenciaisInvalidas();
+    }
 
-        return ResponseEntity.ok(response);
+    private static ResponseEntity<?> credenciaisInvalidas() {
+        return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("message", "Credenciais inválidas"));
     }
 
     /**
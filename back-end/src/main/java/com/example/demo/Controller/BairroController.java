@@ -8,6 +8,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.example.demo.Cache.EstatisticasCache;
 import com.example.demo.Models.BairroModel;
 import com.example.demo.Services.BairroService;
 
@@ -35,6 +37,13 @@ public class BairroController {
         return ResponseEntity.status(HttpStatus.OK).body(list);
     } 
 
+    /** Acertos/falhas do cache da lista e dos lookups por id (só ADMIN) */
+    @GetMapping("/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<EstatisticasCache>> cache() {
+        return ResponseEntity.ok(service.estatisticasCache());
+    }
+
     @GetMapping("/bairros-page")
     public Page<BairroModel> getPosts(Pageable pageable) {
         return service.getAll(pageable);
@@ -0,0 +1,176 @@
+// src/main/java/com/example/demo/Controller/EnvioArquivo.java
+package com.example.demo.Controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.http.HttpHeaders;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Entrega de arquivo estático (fotos) com:
+ *
+ *  - ETag forte + If-None-Match → 304;
+ *  - Range de uma faixa (bytes=a-b, a-, -n) → 206, If-Range, 416;
+ *  - corpo sem passar pelo heap: com arquivo local e Tomcat com sendfile,
+ *    só preenche os atributos de sendfile e o conector manda o arquivo
+ *    direto do page cache para o socket; sem sendfile, FileChannel.transferTo.
+ *
+ * Várias faixas num Range só (multipart/byteranges) recebem o arquivo inteiro,
+ * o que a RFC 9110 permite.
+ */
+final class EnvioArquivo {
+
+    // atributos do Tomcat (org.apache.catalina.Globals), sem depender da classe interna
+    private static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+
+    // abaixo disso escrever direto sai mais barato que agendar o sendfile (mesmo corte do DefaultServlet)
+    private static final long MIN_SENDFILE = 48 * 1024;
+
+    static final String CACHE_IMUTAVEL = "public, max-age=31536000, immutable";
+    // resposta provisória (ex.: original no lugar de um derivado ainda não gerado)
+    static final String CACHE_CURTO = "public, max-age=60";
+
+    private static final long[] FORA_DO_ARQUIVO = new long[0];
+
+    @FunctionalInterface
+    interface Abridor {
+        InputStream abrir() throws IOException;
+    }
+
+    private EnvioArquivo() {}
+
+    static void enviar(HttpServletRequest req, HttpServletResponse resp,
+                       String etag, String mime, long tamanho, String cacheControl,
+                       Path local, Abridor abridor) throws IOException {
+
+        resp.setHeader(HttpHeaders.ETAG, etag);
+        resp.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        resp.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (casaAlgumaEtag(req.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long inicio = 0, fim = tamanho - 1;
+        String range = req.getHeader(HttpHeaders.RANGE);
+        String ifRange = req.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range com outro validador: a cópia do cliente é velha, vai o arquivo inteiro
+        if (range != null && (ifRange == null || ifRange.trim().equals(etag))) {
+            long[] faixa = faixa(range, tamanho);
+            if (faixa == FORA_DO_ARQUIVO) {
+                resp.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                resp.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+                return;
+            }
+            if (faixa != null) {
+                inicio = faixa[0];
+                fim = faixa[1];
+                resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                resp.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fim + "/" + tamanho);
+            }
+        }
+
+        long qtd = fim - inicio + 1;
+        resp.setContentType(mime);
+        resp.setContentLengthLong(qtd);
+        if ("HEAD".equals(req.getMethod()) || qtd == 0) return;
+
+        if (local != null) {
+            if (qtd >= MIN_SENDFILE && Boolean.TRUE.equals(req.getAttribute(SENDFILE_SUPORTADO))) {
+                req.setAttribute(SENDFILE_ARQUIVO, local.toAbsolutePath().toString());
+                req.setAttribute(SENDFILE_INICIO, inicio);
+                req.setAttribute(SENDFILE_FIM, fim + 1);
+                return;
+            }
+            try (FileChannel arquivo = FileChannel.open(local, StandardOpenOption.READ)) {
+                WritableByteChannel saida = Channels.newChannel(resp.getOutputStream());
+                long pos = inicio, resta = qtd;
+                while (resta > 0) {
+                    long n = arquivo.transferTo(pos, resta, saida);
+                    if (n <= 0) break; // arquivo encolheu no meio (não deveria: conteúdo imutável)
+                    pos += n;
+                    resta -= n;
+                }
+            }
+            return;
+        }
+
+        // armazenamento remoto: stream, pulando até o início da faixa
+        try (InputStream in = abridor.abrir()) {
+            in.skipNBytes(inicio);
+            OutputStream out = resp.getOutputStream();
+            byte[] buffer = new byte[16 * 1024];
+            long resta = qtd;
+            while (resta > 0) {
+                int n = in.read(buffer, 0, (int) Math.min(buffer.length, resta));
+                if (n < 0) break;
+                out.write(buffer, 0, n);
+                resta -= n;
+            }
+        }
+    }
+
+    // ========= CABEÇALHOS =========
+
+    /** If-None-Match: "*" ou lista; comparação fraca (ignora W/), como manda a RFC */
+    static boolean casaAlgumaEtag(String cabecalho, String etag) {
+        if (cabecalho == null) return false;
+        for (String candidata : cabecalho.split(",")) {
+            String c = candidata.trim();
+            if (c.equals("*")) return true;
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * [início, fim] de "bytes=a-b" | "bytes=a-" | "bytes=-n";
+     * null = ignorar o Range (malformado ou várias faixas) e mandar tudo;
+     * FORA_DO_ARQUIVO = 416.
+     */
+    static long[] faixa(String range, long tamanho) {
+        if (!range.startsWith("bytes=")) return null;
+        String spec = range.substring(6).trim();
+        if (spec.indexOf(',') >= 0) return null;
+        int traco = spec.indexOf('-');
+        if (traco < 0) return null;
+        try {
+            String a = spec.substring(0, traco).trim(), b = spec.substring(traco + 1).trim();
+            long inicio, fim;
+            if (a.isEmpty()) {
+                if (b.isEmpty()) return null;
+                long sufixo = Long.parseLong(b);
+                if (sufixo <= 0) return FORA_DO_ARQUIVO;
+                inicio = Math.max(0, tamanho - sufixo);
+                fim = tamanho - 1;
+            } else {
+                inicio = Long.parseLong(a);
+                if (b.isEmpty()) {
+                    fim = tamanho - 1;
+                } else {
+                    long ultimo = Long.parseLong(b);
+                    if (ultimo < inicio) return null; // sintaxe inválida: ignora o Range
+                    fim = Math.min(ultimo, tamanho - 1);
+                }
+            }
+            if (inicio >= tamanho || inicio < 0) return FORA_DO_ARQUIVO;
+            return new long[] {inicio, fim};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,22 +1,45 @@
 package com.example.demo.Controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.example.demo.Models.FotoImovelModel;
+import com.example.demo.Security.UsuarioAutenticado;
+import com.example.demo.Services.DerivadosFotoService;
 import com.example.demo.Services.FotoImovelService;
+import com.example.demo.Storage.TamanhoFoto;
+import com.example.demo.Storage.UploadsRetomaveis;
 import com.example.demo.dtos.FotoImovelDTO;
+import com.example.demo.dtos.FotoLoteDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 
 
@@ -27,40 +50,260 @@ public class FotoImovelController {
     @Autowired
     private FotoImovelService service;
 
+    // o ObjectMapper do Spring (módulos e configuração da aplicação), não um novo por requisição
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private DerivadosFotoService derivados;
+
+    @Autowired
+    private UploadsRetomaveis uploads;
+
+    // mesmo nome de cabeçalho do protocolo tus, para clientes que já entendem
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
 
     //deve ter todos os metodos basicos de CRUD: POST, GET, PUT, DELETE
 
     @GetMapping("/imovel/{id}") //fotos/imovel/id
-    public List<FotoImovelModel> listarPorImovel(@PathVariable Integer id) { 
-        //return service.listarPorImovel(id); 
-        return null;
+    public List<FotoImovelDTO> listarPorImovel(@PathVariable Integer id) {
+        return service.listarPorImovel(id).stream()
+                .map(FotoImovelService::toDto)
+                .toList();
     }
 
+    /**
+     * Upload de uma foto: parte "arquivo" (a imagem) + parte "dados" (JSON do
+     * FotoImovelDTO, com imovel_id). O arquivo vai em streaming para o
+     * armazenamento, deduplicado pelo SHA-256 do conteúdo.
+     */
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-        public String salvar(@RequestPart("arquivo") MultipartFile arquivo, @RequestPart("dados") String dados) {
-            ObjectMapper mapper = new ObjectMapper();
-            try {
-                // 1 - converter a String (JSON) em DTO
-                FotoImovelDTO dto = mapper.readValue(dados, FotoImovelDTO.class);
+    public ResponseEntity<?> salvar(@RequestPart("arquivo") MultipartFile arquivo,
+                                    @RequestPart("dados") String dados) throws IOException {
+        FotoImovelDTO dto;
+        try {
+            dto = mapper.readValue(dados, FotoImovelDTO.class);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "JSON de dados inválido"));
+        }
 
-                // 2 - salvar o arquivo na pasta de destino
-                String caminho = "C:\\Users\\rebek\\OneDrive\\Documentos\\Programação Web IV\\Projeto de Imobiliaria\\demo\\src\\"
-                    + arquivo.getOriginalFilename();
-                arquivo.transferTo(new java.io.File(caminho));
+        FotoImovelModel salvo;
+        try (InputStream in = arquivo.getInputStream()) {
+            salvo = service.salvarArquivo(dto, arquivo.getOriginalFilename(), in);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(Map.of("message", e.getMessage()));
+        }
 
-                // 3 - preencher o caminho no DTO (se você tiver o campo)
-                dto.setCaminho(caminho);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(salvo.getId())
+                .toUri();
+        return ResponseEntity.created(uri).body(FotoImovelService.toDto(salvo));
+    }
 
-                // 4 - salvar o modelo no banco
-                FotoImovelModel salvo = service.insert(dto);
+    /**
+     * Upload em lote: N partes "arquivos" + parte "dados" (FotoLoteDTO com
+     * imovel_id e capa/ordem por arquivo). Gravação paralela e um único
+     * batch de INSERTs; tudo ou nada.
+     */
+    @PostMapping(value = "/lote", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> salvarLote(@RequestPart("arquivos") List<MultipartFile> arquivos,
+                                        @RequestPart("dados") String dados,
+                                        Authentication authentication) throws IOException {
+        FotoLoteDTO lote;
+        try {
+            lote = mapper.readValue(dados, FotoLoteDTO.class);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "JSON de dados inválido"));
+        }
+        if (arquivos.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Nenhum arquivo enviado"));
+        }
+        ResponseEntity<?> negado = conferirDono(lote.getImovel_id(), authentication);
+        if (negado != null) return negado;
+
+        List<FotoImovelService.ArquivoEnviado> enviados = arquivos.stream()
+                .map(f -> new FotoImovelService.ArquivoEnviado(f.getOriginalFilename(), f::getInputStream))
+                .toList();
+        try {
+            List<FotoImovelDTO> salvas = service.salvarLote(lote, enviados).stream()
+                    .map(FotoImovelService::toDto)
+                    .toList();
+            return ResponseEntity.status(HttpStatus.CREATED).body(salvas);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(Map.of("message", e.getMessage()));
+        }
+    }
 
-                // 5 - retornar mensagem feliz :)
-                return "Arquivo salvo com sucesso: " + salvo.getCaminho();
+    // ========= UPLOAD RETOMÁVEL (em partes) =========
 
-            } catch (Exception e) {
-                return "Erro ao salvar arquivo: " + e.getMessage();
+    /**
+     * 1) Cria o upload: corpo = FotoImovelDTO com imovel_id, nomeArquivo,
+     * capa, ordem e tamanho (bytes do arquivo inteiro).
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<?> criarUpload(@RequestBody FotoImovelDTO dto, Authentication authentication)
+            throws IOException {
+        if (dto.getTamanho() == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "tamanho é obrigatório"));
         }
-}
+        ResponseEntity<?> negado = conferirDono(dto.getImovel_id(), authentication);
+        if (negado != null) return negado;
+        try {
+            UploadsRetomaveis.Situacao s = uploads.criar(usuarioId(authentication),
+                    new UploadsRetomaveis.Dados(dto.getImovel_id(), dto.getNomeArquivo(), dto.getCapa(), dto.getOrdem()),
+                    dto.getTamanho());
+            URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(s.id())
+                    .toUri();
+            return ResponseEntity.created(uri).header(UPLOAD_OFFSET, "0").body(s);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /** Quanto o servidor já recebeu: o cliente retoma a partir daí */
+    @GetMapping("/uploads/{id}")
+    public ResponseEntity<UploadsRetomaveis.Situacao> situacaoUpload(@PathVariable String id,
+                                                                     Authentication authentication) {
+        UploadsRetomaveis.Situacao s = uploads.situacao(id, usuarioId(authentication));
+        if (s == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok().header(UPLOAD_OFFSET, String.valueOf(s.recebido())).body(s);
+    }
+
+    /**
+     * 2) Uma parte: PUT /fotos/uploads/{id}?offset=N com os bytes crus no corpo.
+     * offset diferente do já recebido → 409 com o offset certo; outra parte
+     * sendo gravada no mesmo upload → 409 na hora (não fica na fila).
+     */
+    @PutMapping(value = "/uploads/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> gravarParte(@PathVariable String id,
+                                         @RequestParam long offset,
+                                         HttpServletRequest request,
+                                         Authentication authentication) throws IOException {
+        try {
+            UploadsRetomaveis.Situacao s = uploads.gravarParte(id, usuarioId(authentication), offset,
+                    request.getInputStream());
+            if (s == null) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok().header(UPLOAD_OFFSET, String.valueOf(s.recebido())).body(s);
+        } catch (UploadsRetomaveis.OffsetInvalidoException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET, String.valueOf(e.getEsperado()))
+                    .body(Map.of("message", e.getMessage(), "offset", e.getEsperado()));
+        } catch (UploadsRetomaveis.UploadOcupadoException e) {
+            return ocupado(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /** 3) Conclui: o arquivo completo vira foto pelo fluxo normal (hash, dedup, derivados) */
+    @PostMapping("/uploads/{id}/concluir")
+    public ResponseEntity<?> concluirUpload(@PathVariable String id, Authentication authentication)
+            throws IOException {
+        try {
+            FotoImovelModel salvo = uploads.concluir(id, usuarioId(authentication), (dados, in) -> {
+                FotoImovelDTO dto = new FotoImovelDTO(null, dados.nomeArquivo(), null, dados.capa(), dados.ordem(),
+                        dados.imovelId());
+                return service.salvarArquivo(dto, dados.nomeArquivo(), in);
+            });
+            if (salvo == null) return ResponseEntity.notFound().build();
+            return ResponseEntity.status(HttpStatus.CREATED).body(FotoImovelService.toDto(salvo));
+        } catch (UploadsRetomaveis.UploadOcupadoException e) {
+            return ocupado(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/uploads/{id}")
+    public ResponseEntity<?> cancelarUpload(@PathVariable String id, Authentication authentication) {
+        try {
+            return uploads.cancelar(id, usuarioId(authentication))
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (UploadsRetomaveis.UploadOcupadoException e) {
+            return ocupado(e);
+        }
+    }
+
+    private static ResponseEntity<?> ocupado(UploadsRetomaveis.UploadOcupadoException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(UPLOAD_OFFSET, String.valueOf(e.getRecebido()))
+                .body(Map.of("message", e.getMessage(), "offset", e.getRecebido()));
+    }
+
+    private static Integer usuarioId(Authentication authentication) {
+        UsuarioAutenticado u = usuario(authentication);
+        return u != null ? u.id() : null;
+    }
+
+    private static UsuarioAutenticado usuario(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado u ? u : null;
+    }
+
+    /** 404 se o imóvel não existe, 403 se não é do usuário logado (nem ADMIN); null = pode enviar */
+    private ResponseEntity<?> conferirDono(Integer imovelId, Authentication authentication) {
+        if (!service.imovelExiste(imovelId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", "Imóvel não encontrado: " + imovelId));
+        }
+        if (!service.podeEnviarFotos(imovelId, usuario(authentication))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Só o dono do imóvel pode enviar fotos para ele"));
+        }
+        return null;
+    }
+
+    /**
+     * Conteúdo da foto no tamanho pedido: ?tamanho=card (listagens),
+     * galeria, completa (padrão) ou original. Enquanto os derivados não
+     * ficam prontos, devolve o original com cache curto.
+     *
+     * ETag forte pelo hash (304 com If-None-Match), Range (206) e
+     * Cache-Control immutable; o corpo vai por sendfile/transferTo (EnvioArquivo).
+     */
+    @GetMapping("/{id}/arquivo")
+    public void arquivo(
+            @PathVariable Integer id,
+            @RequestParam(defaultValue = "completa") String tamanho,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        TamanhoFoto t = TamanhoFoto.de(tamanho);
+        if (t == null && !"original".equalsIgnoreCase(tamanho)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "tamanho inválido");
+            return;
+        }
+        FotoImovelService.ArquivoFoto arquivo = service.arquivo(id, t);
+        if (arquivo == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // a URL é do tamanho pedido: só é eterna se é exatamente ele que vai
+        String cache = arquivo.tamanho() == t ? EnvioArquivo.CACHE_IMUTAVEL : EnvioArquivo.CACHE_CURTO;
+        EnvioArquivo.enviar(request, response, arquivo.etag(), arquivo.mime(), service.tamanho(arquivo), cache,
+                service.arquivoLocal(arquivo), () -> service.abrir(arquivo));
+    }
+
+    @GetMapping("/derivados/metricas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DerivadosFotoService.Metricas> metricasDerivados() {
+        return ResponseEntity.ok(derivados.metricas());
+    }
 
 
 
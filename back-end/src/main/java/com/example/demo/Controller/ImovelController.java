@@ -1,33 +1,59 @@
 // src/main/java/com/example/demo/Controller/ImovelController.java
 package com.example.demo.Controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 import com.example.demo.Models.ImovelModel;
 import com.example.demo.Models.UserModel;
 import com.example.demo.Repositories.UserRepository;
+import com.example.demo.Security.UsuarioAutenticado;
+import com.example.demo.Services.ImovelExportService;
+import com.example.demo.Services.ImovelImportService;
 import com.example.demo.Services.ImovelService;
+import com.example.demo.config.AmostraLog;
+import com.example.demo.config.ContextoRequisicao;
+import com.example.demo.dtos.FacetasDTO;
+import com.example.demo.dtos.ImovelFiltroDTO;
+import com.example.demo.dtos.ImovelMapaDTO;
 import com.example.demo.dtos.ImovelRequestDTO;
+import com.example.demo.dtos.ImovelResumoDTO;
+import com.example.demo.dtos.PaginaCursorDTO;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+
 @RestController
 @RequestMapping("/imoveis")
 public class ImovelController {
@@ -40,25 +66,114 @@ public class ImovelController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ImovelExportService exportService;
+
+    @Autowired
+    private ImovelImportService importService;
+
     // ========= LISTAGENS GERAIS =========
 
     @GetMapping
-    public ResponseEntity<List<ImovelModel>> getAllImoveis() {
-        log.info("[ImovelController] GET /imoveis chamado");
-        List<ImovelModel> list = service.getAll();
-        log.info("[ImovelController] Retornando {} imóveis", list.size());
+    public ResponseEntity<List<ImovelResumoDTO>> getAllImoveis() {
+        List<ImovelResumoDTO> list = service.listarResumos();
+        ContextoRequisicao.put("itens", list.size());
         return ResponseEntity.status(HttpStatus.OK).body(list);
     }
 
+    /**
+     * Busca filtrada e paginada no servidor.
+     * Ex.: /imoveis/search?finalidade=VENDA&bairroId=3&precoMax=500000&ordem=menor_preco&tamanho=20
+     *      /imoveis/search?q=apartamento com sacada&finalidade=ALUGUEL
+     * A próxima página é pedida repassando o proximoCursor recebido em ?cursor=...
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PaginaCursorDTO<ImovelResumoDTO>> search(ImovelFiltroDTO filtro) {
+        try {
+            return ResponseEntity.ok(service.buscar(filtro));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    /**
+     * Contagens para a barra de filtros (bairros, tipos, dormitórios,
+     * finalidade e faixas de preço). Aceita os mesmos parâmetros de /search.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<FacetasDTO> facets(ImovelFiltroDTO filtro) {
+        try {
+            return ResponseEntity.ok(service.facetas(filtro));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    /**
+     * Imóveis para o mapa. Dois modos:
+     *   /imoveis/mapa?lat=-23.55&lon=-46.63&raioKm=2          (raio, mais perto primeiro)
+     *   /imoveis/mapa?minLat=..&minLon=..&maxLat=..&maxLon=.. (área visível)
+     * Só entram imóveis com coordenadas (resolvidas pelo CEP) e, sem ?status=,
+     * só os ATIVO — inativos, vendidos e alugados não aparecem no mapa público.
+     */
+    @GetMapping("/mapa")
+    public ResponseEntity<List<ImovelMapaDTO>> mapa(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double raioKm,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLon,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            if (lat != null && lon != null && raioKm != null) {
+                return ResponseEntity.ok(service.buscarNoRaio(lat, lon, raioKm, status, limite));
+            }
+            if (minLat != null && minLon != null && maxLat != null && maxLon != null) {
+                return ResponseEntity.ok(service.buscarNoRetangulo(minLat, minLon, maxLat, maxLon, status, limite));
+            }
+            throw new IllegalArgumentException("Informe lat, lon e raioKm ou minLat, minLon, maxLat e maxLon");
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Dump completo do catálogo para parceiros, em NDJSON (padrão) ou CSV.
+     * Escreve direto no corpo da resposta enquanto lê do banco.
+     * Sai tudo (inclusive inativos e o dono de cada imóvel), então exige login
+     * de corretor (os parceiros do feed) ou ADMIN, mesmo com /imoveis/** liberado.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('CORRETOR','ADMIN')")
+    public void exportar(
+            @RequestParam(name = "format", defaultValue = ImovelExportService.NDJSON) String formato,
+            HttpServletResponse response) throws IOException {
+
+        if (!ImovelExportService.formatoValido(formato)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato inválido (use ndjson ou csv)");
+        }
+
+        boolean csv = ImovelExportService.CSV.equalsIgnoreCase(formato);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"imoveis." + (csv ? "csv" : "ndjson") + "\"");
+
+        long linhas = exportService.exportar(formato, response.getOutputStream());
+        ContextoRequisicao.put("itens", linhas);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ImovelModel> find(@PathVariable Integer id) {
-        log.info("[ImovelController] GET /imoveis/{} chamado", id);
         ImovelModel model = service.find(id);
         if (model != null) {
-            log.info("[ImovelController] Imóvel encontrado: id={}", id);
             return ResponseEntity.status(HttpStatus.OK).body(model);
         } else {
-            log.warn("[ImovelController] Imóvel NÃO encontrado: id={}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
@@ -66,17 +181,12 @@ public class ImovelController {
     // ========= MEUS IMÓVEIS (somente do usuário logado) =========
 
     @GetMapping("/meus")
-    public ResponseEntity<List<ImovelModel>> listarMeusImoveis(Authentication authentication) {
-        log.info("[ImovelController] GET /imoveis/meus chamado. authentication = {}", authentication);
-
+    public ResponseEntity<List<ImovelResumoDTO>> listarMeusImoveis(Authentication authentication) {
         // reaproveita o helper já existente
-        UserModel usuarioLogado = getUsuarioLogado(authentication);
-        log.info("[ImovelController] Usuário logado para /meus: id={}, email={}",
-                usuarioLogado.getId(), usuarioLogado.getEmail());
+        UsuarioAutenticado usuarioLogado = getUsuarioLogado(authentication);
 
-        List<ImovelModel> lista = service.listarPorUsuario(usuarioLogado);
-        log.info("[ImovelController] Retornando {} imóveis do usuário id={}",
-                lista.size(), usuarioLogado.getId());
+        List<ImovelResumoDTO> lista = service.listarPorUsuario(usuarioLogado.id());
+        ContextoRequisicao.put("itens", lista.size());
 
         return ResponseEntity.ok(lista);
     }
@@ -88,18 +198,16 @@ public class ImovelController {
             @RequestBody ImovelRequestDTO dto,
             Authentication authentication) {
 
-        log.info("[ImovelController] POST /imoveis chamado. Authentication = {}", authentication);
-
-        UserModel usuario = getUsuarioLogado(authentication);
-
-        log.info("[ImovelController] Usuário logado: id={}, email={}",
-                usuario.getId(), usuario.getEmail());
+        UsuarioAutenticado logado = getUsuarioLogado(authentication);
 
-        log.info(
-                "[ImovelController] DTO recebido: titulo='{}', bairroId={}, tipoImovelId={}, precoVenda={}, precoAluguel={}",
-                dto.getTitulo(), dto.getBairroId(), dto.getTipoImovelId(),
-                dto.getPrecoVenda(), dto.getPrecoAluguel());
+        if (AmostraLog.debug(log, 10)) {
+            log.debug("[ImovelController] DTO recebido: titulo='{}', bairroId={}, tipoImovelId={}, precoVenda={}, precoAluguel={}",
+                    dto.getTitulo(), dto.getBairroId(), dto.getTipoImovelId(),
+                    dto.getPrecoVenda(), dto.getPrecoAluguel());
+        }
 
+        // referência (proxy) pelo id do token: o insert só precisa da FK
+        UserModel usuario = userRepository.getReferenceById(logado.id());
         ImovelModel model = service.insertFromDto(dto, usuario);
 
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -107,63 +215,159 @@ public class ImovelController {
                 .buildAndExpand(model.getId())
                 .toUri();
 
-        log.info("[ImovelController] Imóvel salvo com id={}", model.getId());
+        ContextoRequisicao.put("imovel", model.getId());
 
         return ResponseEntity.created(uri).body(model);
     }
 
+    // ========= IMPORTAÇÃO EM MASSA (FEED DOS PARCEIROS) =========
+
+    /**
+     * Importa um arquivo de imóveis em CSV (colunas do /export) ou NDJSON, todos
+     * do usuário logado. O arquivo vem no corpo (text/csv, application/x-ndjson)
+     * ou na parte "arquivo" de um multipart, e é lido enquanto chega.
+     * Ex.: curl -X POST -H 'Content-Type: text/csv' --data-binary @feed.csv /imoveis/import
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImovelImportService.Relatorio> importar(
+            @RequestParam(name = "format", required = false) String formato,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException, ServletException {
+
+        UsuarioAutenticado logado = getUsuarioLogado(authentication);
+
+        String tipo = request.getContentType() != null ? request.getContentType().toLowerCase() : "";
+        boolean multipart = tipo.startsWith("multipart/");
+        Part parte = multipart ? request.getPart("arquivo") : null;
+        if (multipart && parte == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Envie o arquivo na parte 'arquivo'");
+        }
+
+        if (formato == null) {
+            String origem = parte != null
+                    ? (parte.getSubmittedFileName() != null ? parte.getSubmittedFileName() : "") + " " + parte.getContentType()
+                    : tipo;
+            formato = origem.toLowerCase().contains("csv") ? ImovelImportService.CSV : ImovelImportService.NDJSON;
+        }
+        if (!ImovelImportService.formatoValido(formato)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato inválido (use ndjson ou csv)");
+        }
+
+        UserModel usuario = userRepository.getReferenceById(logado.id());
+        ImovelImportService.Relatorio relatorio;
+        try (InputStream in = parte != null ? parte.getInputStream() : request.getInputStream()) {
+            relatorio = importService.importar(formato, in, usuario);
+        }
+
+        ContextoRequisicao.put("itens", relatorio.importados());
+        return ResponseEntity.ok(relatorio);
+    }
+
     // ========= UPDATE =========
 
+    /**
+     * Troca o imóvel inteiro. Como no PATCH, a "versao" lida no GET é
+     * obrigatória (no corpo ou no If-Match): sem ela → 428; desatualizada → 409.
+     */
     @PutMapping("/{id}")
-public ResponseEntity<ImovelModel> update(
+public ResponseEntity<?> update(
         @RequestBody ImovelModel model,
-        @PathVariable Integer id) {
+        @PathVariable Integer id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-    log.info("[ImovelController] PUT /imoveis/{} chamado", id);
     model.setId(id);
 
-    ImovelModel atualizado = service.update(model);
+    ImovelModel atualizado;
+    try {
+        model.setVersao(versaoPedida(model.getVersao(), ifMatch));
+        if (model.getVersao() == null) return versaoObrigatoria();
+        atualizado = service.update(model);
+    } catch (IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
 
     if (atualizado == null) {
-        log.warn("[ImovelController] Imóvel não encontrado para update: id={}", id);
         return ResponseEntity.notFound().build(); // 404 só quando realmente não achou
     }
 
-    log.info("[ImovelController] Imóvel atualizado: id={}", id);
     return ResponseEntity.ok(atualizado); // devolve 200 com o objeto atualizado
 }
 
+    /**
+     * Atualização parcial: só os campos enviados mudam (null explícito limpa).
+     * A "versao" lida no GET é obrigatória (no corpo ou no If-Match): a edição
+     * falha com 409 se alguém salvou o imóvel nesse meio-tempo, em vez de
+     * sobrescrever. Sem versão → 428.
+     * Ex.: PATCH /imoveis/12  {"versao": 3, "precoVenda": 450000, "status": "VENDIDO"}
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> atualizarParcial(@PathVariable Integer id,
+                                              @RequestBody JsonNode campos,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                              String ifMatch) {
+        try {
+            Long versao = versaoPedida(versaoDoCorpo(campos), ifMatch);
+            if (versao == null) return versaoObrigatoria();
+            ImovelModel atualizado = service.atualizarParcial(id, versao, campos);
+            if (atualizado == null) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(atualizado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    private static Long versaoDoCorpo(JsonNode campos) {
+        JsonNode v = campos != null ? campos.get("versao") : null;
+        if (v == null || v.isNull()) return null;
+        if (!v.canConvertToLong()) throw new IllegalArgumentException("versao deve ser um número inteiro");
+        return v.asLong();
+    }
+
+    /** versão do corpo ou, sem ela, do If-Match (3, "3" ou W/"3"); null se nenhum dos dois veio */
+    private static Long versaoPedida(Long doCorpo, String ifMatch) {
+        if (doCorpo != null) return doCorpo;
+        if (ifMatch == null || ifMatch.isBlank()) return null;
+        String etag = ifMatch.strip();
+        if (etag.startsWith("W/")) etag = etag.substring(2);
+        if (etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            etag = etag.substring(1, etag.length() - 1);
+        }
+        try {
+            return Long.parseLong(etag);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match deve trazer a versão do imóvel");
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> versaoObrigatoria() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body(Map.of(
+                "message", "Informe a versao lida do imóvel (campo \"versao\" ou cabeçalho If-Match)."));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> conflitoDeVersao(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", "conflict",
+                "message", "O imóvel foi alterado por outra pessoa. Recarregue e tente de novo."));
+    }
+
 
     // ========= DELETE =========
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Integer id) {
-        log.info("[ImovelController] DELETE /imoveis/{} chamado", id);
         service.delete(id);
-        log.info("[ImovelController] Imóvel removido: id={}", id);
         return ResponseEntity.noContent().build();
     }
 
     // ========= AUXILIAR =========
 
-    private UserModel getUsuarioLogado(Authentication authentication) {
-        log.info("[ImovelController] getUsuarioLogado() - authentication = {}", authentication);
-
+    /** Usuário do token (montado pelo JwtAuthFilter, sem consulta ao banco) */
+    private UsuarioAutenticado getUsuarioLogado(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()
-                || "anonymousUser".equals(authentication.getPrincipal())) {
-
-            log.warn("[ImovelController] Usuário não autenticado. authentication = {}", authentication);
+                || !(authentication.getPrincipal() instanceof UsuarioAutenticado usuario)) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário não autenticado");
         }
-
-        String email = authentication.getName();
-        log.info("[ImovelController] Buscando usuário por email = {}", email);
-
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> {
-                    log.warn("[ImovelController] Usuário não encontrado para email = {}", email);
-                    return new ResponseStatusException(
-                            HttpStatus.UNAUTHORIZED, "Usuário não encontrado");
-                });
+        return usuario;
     }
 }
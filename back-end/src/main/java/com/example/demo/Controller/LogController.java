@@ -0,0 +1,52 @@
+// src/main/java/com/example/demo/Controller/LogController.java
+package com.example.demo.Controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Liga/desliga o log de SQL do Hibernate sem reiniciar a aplicação
+ * (em produção fica OFF; ver logging.level.org.hibernate.SQL).
+ *
+ *     PUT /admin/logs/sql?ligado=true   → org.hibernate.SQL em DEBUG
+ *     PUT /admin/logs/sql?ligado=false  → OFF
+ */
+@RestController
+@RequestMapping("/admin/logs")
+@PreAuthorize("hasRole('ADMIN')")
+public class LogController {
+
+    private static final String LOGGER_SQL = "org.hibernate.SQL";
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    @GetMapping("/sql")
+    public ResponseEntity<Map<String, Object>> sql() {
+        return ResponseEntity.ok(estado());
+    }
+
+    @PutMapping("/sql")
+    public ResponseEntity<Map<String, Object>> sql(@RequestParam boolean ligado) {
+        loggingSystem.setLogLevel(LOGGER_SQL, ligado ? LogLevel.DEBUG : LogLevel.OFF);
+        return ResponseEntity.ok(estado());
+    }
+
+    private Map<String, Object> estado() {
+        LoggerConfiguration c = loggingSystem.getLoggerConfiguration(LOGGER_SQL);
+        LogLevel nivel = c != null ? c.getEffectiveLevel() : null;
+        boolean ligado = nivel != null && nivel != LogLevel.OFF && nivel.ordinal() <= LogLevel.DEBUG.ordinal();
+        return Map.of("logger", LOGGER_SQL, "nivel", String.valueOf(nivel), "ligado", ligado);
+    }
+}
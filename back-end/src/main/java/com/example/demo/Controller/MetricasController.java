@@ -0,0 +1,42 @@
+// src/main/java/com/example/demo/Controller/MetricasController.java
+package com.example.demo.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.Security.SenhaService;
+import com.example.demo.Security.SessionService;
+
+/**
+ * Métricas internas, só para admin. Ficam fora de /auth/** porque lá o
+ * JwtAuthFilter não roda (login/refresh são públicos) e o @PreAuthorize
+ * nunca veria o usuário logado.
+ *
+ *     GET /admin/senhas/metricas   → pool de BCrypt (fila, tempos, rejeições)
+ *     GET /admin/sessoes/metricas  → sessões de refresh (tamanho, expiradas, despejadas pelo LRU)
+ */
+@RestController
+@RequestMapping("/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class MetricasController {
+
+    @Autowired
+    private SenhaService senhaService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @GetMapping("/senhas/metricas")
+    public ResponseEntity<SenhaService.Metricas> senhas() {
+        return ResponseEntity.ok(senhaService.metricas());
+    }
+
+    @GetMapping("/sessoes/metricas")
+    public ResponseEntity<SessionService.Metricas> sessoes() {
+        return ResponseEntity.ok(sessionService.metricas());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.demo.Controller;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,22 +47,25 @@ public class UserController {
         return ResponseEntity.ok(new UserDTO(model));
     }
 
+    // cadastro e troca de senha respondem assíncrono: o BCrypt não segura a thread do Tomcat
     @PostMapping
-    public ResponseEntity<UserDTO> insert(@RequestBody UserDTO dto) {
-        UserModel model = service.insert(dto);
-        URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
-                .path("/{id}")
-                .buildAndExpand(model.getId())
-                .toUri();
-        return ResponseEntity.created(uri).body(new UserDTO(model));
+    public CompletableFuture<ResponseEntity<UserDTO>> insert(@RequestBody UserDTO dto) {
+        // a URL sai da requisição atual: monta antes de sair da thread do Tomcat
+        ServletUriComponentsBuilder base = ServletUriComponentsBuilder.fromCurrentRequest();
+        return service.insert(dto).thenApply(model -> {
+            URI uri = base.path("/{id}")
+                    .buildAndExpand(model.getId())
+                    .toUri();
+            return ResponseEntity.created(uri).body(new UserDTO(model));
+        });
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Void> update(@RequestBody UserDTO dto, @PathVariable Integer id) {
+    public CompletableFuture<ResponseEntity<Void>> update(@RequestBody UserDTO dto, @PathVariable Integer id) {
         dto.setId(id);
-        UserModel model = service.update(dto);
-        if (model == null) return ResponseEntity.notFound().build();
-        return ResponseEntity.noContent().build();
+        return service.update(dto).thenApply(model -> model == null
+                ? ResponseEntity.notFound().build()
+                : ResponseEntity.noContent().build());
     }
 
     @DeleteMapping("/{id}")
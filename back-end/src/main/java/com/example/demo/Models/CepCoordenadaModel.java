@@ -0,0 +1,39 @@
+package com.example.demo.Models;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Tabela offline CEP → coordenada (carregada a partir da base de CEPs,
+ * não é editada pela aplicação). Usada para preencher latitude/longitude
+ * dos imóveis no momento da gravação.
+ */
+@Entity
+@Table(name = "cep_coordenadas")
+@Getter
+@Setter
+public class CepCoordenadaModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(length = 8)
+    private String cep;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    public CepCoordenadaModel() {}
+
+    public CepCoordenadaModel(String cep, Double latitude, Double longitude) {
+        this.cep = cep;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+}
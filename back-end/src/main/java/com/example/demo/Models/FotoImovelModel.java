@@ -5,25 +5,37 @@ import java.io.Serializable;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.Column;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "fotos_imoveis")
+@Table(name = "fotos_imoveis", indexes = {
+        @Index(name = "idx_fotos_imovel_ordem", columnList = "imovel_id, ordem"),
+        @Index(name = "idx_fotos_hash", columnList = "hash")
+})
 @Getter
 @Setter
 public class FotoImovelModel implements Serializable{
     private static final long serialVersionUID = 1L;
 
+    // ids reservados em blocos de 50 na tabela id_geradores (IDENTITY impede o batch de INSERTs);
+    // AlinhamentoGeradorIds acerta o contador com o max(id) existente na subida
     @Id
-    @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "fotos_imoveis")
+    @TableGenerator(name = "fotos_imoveis", table = "id_geradores", pkColumnName = "nome",
+            valueColumnName = "proximo", pkColumnValue = "fotos_imoveis", allocationSize = 50)
     private Integer id;
 
     @Column(name = "nome_arquivo")
@@ -38,6 +50,21 @@ public class FotoImovelModel implements Serializable{
     @Column(name = "ordem")
     private Integer ordem;
 
+    // SHA-256 (hex) do conteúdo: chave no ArmazenamentoFotos; fotos iguais dividem o arquivo
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "tamanho")
+    private Long tamanho;
+
+    @Column(name = "mime", length = 32)
+    private String mime;
+
+    // versões card/galeria/completa (DerivadosFotoService)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "derivados", length = 16)
+    private StatusDerivados derivados;
+
     public FotoImovelModel() {} // ✅ necessário pelo JPA
 
     public FotoImovelModel(Integer id, String nomeArquivo, String caminho, Boolean capa, Integer ordem){
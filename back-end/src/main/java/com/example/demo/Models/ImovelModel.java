@@ -4,6 +4,8 @@ package com.example.demo.Models;
 import java.io.Serializable;
 import java.math.BigDecimal;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
@@ -12,23 +14,42 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "imoveis")
+@Table(name = "imoveis", indexes = {
+        // usados pela busca com paginação por cursor (/imoveis/search)
+        @Index(name = "idx_imoveis_fin_status_venda", columnList = "finalidade, status, preco_venda, id"),
+        @Index(name = "idx_imoveis_fin_status_aluguel", columnList = "finalidade, status, preco_aluguel, id"),
+        @Index(name = "idx_imoveis_fin_status_area", columnList = "finalidade, status, area_total, id")
+})
+// UPDATE só com as colunas que mudaram (PATCH /imoveis/{id})
+@DynamicUpdate
 @Getter
 @Setter
 public class ImovelModel implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    // mesmo gerador em tabela do FotoImovelModel: a importação dos parceiros
+    // (ImovelImportService) depende dele para os INSERTs saírem em batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "imoveis")
+    @TableGenerator(name = "imoveis", table = "id_geradores", pkColumnName = "nome",
+            valueColumnName = "proximo", pkColumnValue = "imoveis", allocationSize = 50)
     private Integer id;
 
+    // trava otimista: UPDATE ... where id = ? and versao = ?; edição concorrente vira 409
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long versao;
+
     private String titulo;
 
     @Column(columnDefinition = "text")
@@ -68,6 +89,10 @@ public class ImovelModel implements Serializable {
     @Column(length = 8)
     private String cep;
 
+    // preenchidas na gravação a partir do CEP (tabela cep_coordenadas)
+    private Double latitude;
+    private Double longitude;
+
     @Column(columnDefinition = "text")
     private String caracteristicas;
 
@@ -84,8 +109,9 @@ public class ImovelModel implements Serializable {
     private BairroModel bairro;
 
     // 🔗 USUÁRIO DONO / CORRETOR (usuario_id)
+    // LAZY: quem precisa do usuário usa os métodos com @EntityGraph do repository
     @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
     private UserModel usuario;
 
@@ -0,0 +1,11 @@
+package com.example.demo.Models;
+
+/**
+ * Situação das versões reduzidas (card, galeria, completa) de uma foto.
+ * Nulo = foto antiga, de antes dos derivados: serve-se o original.
+ */
+public enum StatusDerivados {
+    PENDENTE,
+    PRONTO,
+    FALHOU
+}
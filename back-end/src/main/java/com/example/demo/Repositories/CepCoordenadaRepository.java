@@ -0,0 +1,15 @@
+package com.example.demo.Repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.Models.CepCoordenadaModel;
+
+@Repository
+public interface CepCoordenadaRepository extends JpaRepository<CepCoordenadaModel, String> {
+
+    // fallback quando o CEP exato não está na base: primeiro CEP do mesmo setor (5 dígitos)
+    Optional<CepCoordenadaModel> findFirstByCepStartingWithOrderByCep(String prefixo);
+}
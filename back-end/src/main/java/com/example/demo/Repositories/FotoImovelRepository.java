@@ -1,10 +1,39 @@
 package com.example.demo.Repositories;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 
 import com.example.demo.Models.FotoImovelModel;
+import com.example.demo.Models.StatusDerivados;
+import com.example.demo.dtos.CapaImovelDTO;
 
 @Repository
 public interface FotoImovelRepository extends JpaRepository<FotoImovelModel, Integer> {
+
+    // quantas fotos ainda apontam para o mesmo conteúdo (o arquivo só sai quando chega a zero)
+    long countByHash(String hash);
+
+    // fotos de um imóvel na ordem da galeria (índice idx_fotos_imovel_ordem)
+    List<FotoImovelModel> findByImovelIdOrderByOrdemAscIdAsc(Integer imovelId);
+
+    // capas de uma página inteira de imóveis numa consulta só (em vez de uma por card)
+    @Query("select new com.example.demo.dtos.CapaImovelDTO(f.imovel.id, f.id, f.ordem, f.hash, f.caminho)"
+            + " from FotoImovelModel f where f.imovel.id in :imovelIds and f.capa = true")
+    List<CapaImovelDTO> capasDosImoveis(@Param("imovelIds") Collection<Integer> imovelIds);
+
+    // fotos com o mesmo conteúdo dividem os derivados: o status muda para todas de uma vez
+    @Modifying
+    @Transactional
+    @Query("update FotoImovelModel f set f.derivados = :status where f.hash = :hash")
+    int atualizarDerivados(@Param("hash") String hash, @Param("status") StatusDerivados status);
+
+    @Query("select distinct f.hash from FotoImovelModel f where f.derivados = :status")
+    List<String> hashesComDerivados(@Param("status") StatusDerivados status);
 }
@@ -1,20 +1,81 @@
 // src/main/java/com/example/demo/Repositories/ImovelRepository.java
 package com.example.demo.Repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.demo.Models.ImovelModel;
 import com.example.demo.Models.UserModel;
+import com.example.demo.dtos.ImovelResumoDTO;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface ImovelRepository extends JpaRepository<ImovelModel, Integer> {
+public interface ImovelRepository extends JpaRepository<ImovelModel, Integer>,
+        JpaSpecificationExecutor<ImovelModel> {
+
+    // associações que a serialização do ImovelModel toca: vêm no mesmo SELECT (join)
+    // em vez de uma consulta por linha por associação
+    @Override
+    @EntityGraph(attributePaths = {"bairro", "tipoImovel", "usuario"})
+    List<ImovelModel> findAll();
 
     // buscar todos os imóveis de um usuário específico
+    @EntityGraph(attributePaths = {"bairro", "tipoImovel", "usuario"})
     List<ImovelModel> findByUsuario(UserModel usuario);
 
+    // detalhe do imóvel (GET /imoveis/{id}) já com as associações
+    @EntityGraph(attributePaths = {"bairro", "tipoImovel", "usuario"})
+    @Query("select i from ImovelModel i where i.id = :id")
+    Optional<ImovelModel> findComAssociacoesById(@Param("id") Integer id);
+
     // se preferir usar só o ID:
     // List<ImovelModel> findByUsuarioId(Integer usuarioId);
+
+    // o imóvel é desse usuário? (quem pode mexer nas fotos dele)
+    boolean existsByIdAndUsuarioId(Integer id, Integer usuarioId);
+
+    /**
+     * Catálogo inteiro como Stream, para exportação. Com fetch size
+     * Integer.MIN_VALUE o driver do MySQL entrega as linhas uma a uma
+     * em vez de trazer o result set inteiro para a memória.
+     * Precisa ser consumido dentro de uma transação.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i from ImovelModel i left join fetch i.bairro left join fetch i.tipoImovel order by i.id")
+    Stream<ImovelModel> streamTodos();
+
+    // ========= RESUMOS PARA LISTAGEM (uma única consulta, sem entidades) =========
+    // a capa não vem aqui: FotoImovelService.capas busca as da página inteira numa consulta só
+
+    String SELECT_RESUMO = "select new com.example.demo.dtos.ImovelResumoDTO("
+            + " i.id, i.titulo, i.finalidade, i.status, i.precoVenda, i.precoAluguel, i.cidade,"
+            + " b.nome, t.nome,"
+            + " i.dormitorios, i.areaTotal)"
+            + " from ImovelModel i left join i.bairro b left join i.tipoImovel t";
+
+    @Query(SELECT_RESUMO + " order by i.id")
+    List<ImovelResumoDTO> listarResumos();
+
+    @Query(SELECT_RESUMO + " where i.usuario.id = :usuarioId order by i.id")
+    List<ImovelResumoDTO> listarResumosPorUsuario(@Param("usuarioId") Integer usuarioId);
+
+    // sem ORDER BY: quem chama já sabe a ordem dos ids
+    @Query(SELECT_RESUMO + " where i.id in :ids")
+    List<ImovelResumoDTO> listarResumosPorIds(@Param("ids") Collection<Integer> ids);
 }
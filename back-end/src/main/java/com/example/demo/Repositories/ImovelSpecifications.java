@@ -0,0 +1,106 @@
+// src/main/java/com/example/demo/Repositories/ImovelSpecifications.java
+package com.example.demo.Repositories;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.demo.Models.ImovelModel;
+import com.example.demo.dtos.ImovelCursor;
+import com.example.demo.dtos.ImovelFiltroDTO;
+import com.example.demo.dtos.OrdenacaoImovel;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Monta o WHERE da busca de imóveis (filtros + condição de keyset do cursor).
+ */
+public final class ImovelSpecifications {
+
+    private ImovelSpecifications() {}
+
+    /** Filtros do formulário de busca */
+    public static Specification<ImovelModel> filtro(ImovelFiltroDTO f) {
+        return (root, query, cb) -> {
+            List<Predicate> p = new ArrayList<>();
+
+            if (f.getFinalidade() != null && !f.getFinalidade().isBlank()) {
+                p.add(cb.equal(root.get("finalidade"), f.getFinalidade().toUpperCase()));
+            }
+            if (f.getStatus() != null && !f.getStatus().isBlank()) {
+                p.add(cb.equal(root.get("status"), f.getStatus().toUpperCase()));
+            }
+            if (f.getBairroId() != null) {
+                p.add(cb.equal(root.get("bairro").get("id"), f.getBairroId()));
+            }
+            if (f.getTipoImovelId() != null) {
+                p.add(cb.equal(root.get("tipoImovel").get("id"), f.getTipoImovelId()));
+            }
+
+            Path<BigDecimal> preco = root.get(f.isAluguel() ? "precoAluguel" : "precoVenda");
+            if (f.getPrecoMin() != null) p.add(cb.greaterThanOrEqualTo(preco, f.getPrecoMin()));
+            if (f.getPrecoMax() != null) p.add(cb.lessThanOrEqualTo(preco, f.getPrecoMax()));
+
+            Path<BigDecimal> area = root.get("areaTotal");
+            if (f.getAreaMin() != null) p.add(cb.greaterThanOrEqualTo(area, f.getAreaMin()));
+            if (f.getAreaMax() != null) p.add(cb.lessThanOrEqualTo(area, f.getAreaMax()));
+
+            if (f.getDormitoriosMin() != null) {
+                p.add(cb.greaterThanOrEqualTo(root.get("dormitorios"), f.getDormitoriosMin()));
+            }
+            if (f.getBanheirosMin() != null) {
+                p.add(cb.greaterThanOrEqualTo(root.get("banheiros"), f.getBanheirosMin()));
+            }
+            if (f.getGaragemMin() != null) {
+                p.add(cb.greaterThanOrEqualTo(root.get("garagem"), f.getGaragemMin()));
+            }
+
+            return cb.and(p.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Condição de "seek" a partir do cursor:
+     *   asc  → (campo > v) OR (campo = v AND id > ultimoId)
+     *   desc → (campo < v) OR (campo = v AND id < ultimoId)
+     * Quando a ordenação usa uma coluna, linhas com ela nula ficam de fora
+     * (não teriam posição definida na ordem).
+     */
+    public static Specification<ImovelModel> aposCursor(
+            OrdenacaoImovel ordem, boolean aluguel, ImovelCursor cursor) {
+
+        return (root, query, cb) -> {
+            String atributo = ordem.atributo(aluguel);
+            Path<Integer> id = root.get("id");
+
+            if (atributo == null) {
+                if (cursor == null) return null;
+                return ordem.isAscendente()
+                        ? cb.greaterThan(id, cursor.id())
+                        : cb.lessThan(id, cursor.id());
+            }
+
+            Path<BigDecimal> campo = root.get(atributo);
+            Predicate naoNulo = cb.isNotNull(campo);
+            if (cursor == null || cursor.valor() == null) return naoNulo;
+
+            return cb.and(naoNulo, seek(cb, campo, id, cursor, ordem.isAscendente()));
+        };
+    }
+
+    private static Predicate seek(CriteriaBuilder cb, Path<BigDecimal> campo, Path<Integer> id,
+                                  ImovelCursor cursor, boolean asc) {
+        if (asc) {
+            return cb.or(
+                    cb.greaterThan(campo, cursor.valor()),
+                    cb.and(cb.equal(campo, cursor.valor()), cb.greaterThan(id, cursor.id())));
+        }
+        return cb.or(
+                cb.lessThan(campo, cursor.valor()),
+                cb.and(cb.equal(campo, cursor.valor()), cb.lessThan(id, cursor.id())));
+    }
+}
@@ -0,0 +1,59 @@
+// src/main/java/com/example/demo/Search/AnalisadorTexto.java
+package com.example.demo.Search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Quebra um texto em termos para o índice textual:
+ * minúsculas → remove acentos ("sacadá" = "sacada") → separa em palavras
+ * → descarta stopwords → aplica o StemmerPortugues.
+ *
+ * O mesmo analisador é usado na indexação e na consulta.
+ */
+final class AnalisadorTexto {
+
+    private AnalisadorTexto() {}
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "na", "no",
+            "nas", "nos", "um", "uma", "uns", "umas", "com", "sem", "por", "para", "pra",
+            "ao", "aos", "que", "se", "ou", "mais", "muito", "muita", "bem", "sua", "seu");
+
+    static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) return termos;
+
+        String normal = dobrarAcentos(texto.toLowerCase());
+
+        int inicio = -1;
+        for (int i = 0; i <= normal.length(); i++) {
+            boolean letra = i < normal.length() && Character.isLetterOrDigit(normal.charAt(i));
+            if (letra && inicio < 0) {
+                inicio = i;
+            } else if (!letra && inicio >= 0) {
+                adicionar(termos, normal.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return termos;
+    }
+
+    private static void adicionar(List<String> termos, String palavra) {
+        if (palavra.length() < 2 || STOPWORDS.contains(palavra)) return;
+        termos.add(StemmerPortugues.stem(palavra));
+    }
+
+    static String dobrarAcentos(String s) {
+        // NFD separa "á" em "a" + acento combinante; depois remove os acentos
+        String nfd = Normalizer.normalize(s, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(nfd.length());
+        for (int i = 0; i < nfd.length(); i++) {
+            char c = nfd.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,248 @@
+// src/main/java/com/example/demo/Search/BuscaTextualIndex.java
+package com.example.demo.Search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Models.ImovelModel;
+
+/**
+ * Índice invertido em memória sobre titulo, caracteristicas e descricao
+ * dos imóveis, com ranking BM25.
+ *
+ * Cada imóvel vira um "doc" interno com número crescente; um update gera
+ * um doc novo e marca o antigo como morto, assim as listas de postings só
+ * recebem append. Quando os mortos passam de um terço, o índice é compactado
+ * (renumera os docs vivos e regrava as listas).
+ */
+@Component
+public class BuscaTextualIndex {
+
+    // parâmetros clássicos do BM25
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // peso de cada campo (o termo conta N vezes no tf)
+    private static final int PESO_TITULO = 3;
+    private static final int PESO_CARACTERISTICAS = 2;
+    private static final int PESO_DESCRICAO = 1;
+
+    private static final int MINIMO_PARA_COMPACTAR = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, ListaPostings> termos = new HashMap<>();
+    private final Map<Integer, Integer> docPorImovel = new HashMap<>();
+    private final BitSet vivos = new BitSet();
+
+    private int[] imovelDoDoc = new int[1024];
+    private int[] tamanhoDoc = new int[1024];
+    private int proximoDoc = 0;
+    private int qtdVivos = 0;
+    private long somaTamanhos = 0;
+
+    private volatile boolean pronto = false;
+
+    // ========= MANUTENÇÃO =========
+
+    public void reconstruir(Collection<ImovelModel> todos) {
+        lock.writeLock().lock();
+        try {
+            termos.clear();
+            docPorImovel.clear();
+            vivos.clear();
+            proximoDoc = 0;
+            qtdVivos = 0;
+            somaTamanhos = 0;
+            for (ImovelModel m : todos) {
+                adicionar(m);
+            }
+            pronto = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void atualizar(ImovelModel m) {
+        if (m == null || m.getId() == null) return;
+        lock.writeLock().lock();
+        try {
+            matar(m.getId());
+            adicionar(m);
+            compactarSePreciso();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Integer id) {
+        if (id == null) return;
+        lock.writeLock().lock();
+        try {
+            matar(id);
+            compactarSePreciso();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    // ========= CONSULTA =========
+
+    /**
+     * Todos os termos da consulta precisam aparecer (AND).
+     * Devolve null quando a consulta não tem nenhum termo útil (só stopwords etc.),
+     * ou seja, "sem filtro textual".
+     */
+    public ResultadoTextual buscar(String consulta) {
+        List<String> q = new ArrayList<>(new LinkedHashSet<>(AnalisadorTexto.termos(consulta)));
+        if (q.isEmpty()) return null;
+
+        lock.readLock().lock();
+        try {
+            List<ListaPostings> listas = new ArrayList<>(q.size());
+            for (String t : q) {
+                ListaPostings l = termos.get(t);
+                if (l == null) return new ResultadoTextual(new int[0], new float[0]);
+                listas.add(l);
+            }
+            // começa pela lista mais curta: a interseção nunca passa dela
+            listas.sort(Comparator.comparingInt(ListaPostings::df));
+
+            float mediaTamanho = qtdVivos == 0 ? 1f : (float) somaTamanhos / qtdVivos;
+
+            ListaPostings primeira = listas.get(0);
+            int[] docs = new int[primeira.df()];
+            int[] tfs = new int[primeira.df()];
+            primeira.decodificar(docs, tfs);
+
+            int n = 0;
+            float[] scores = new float[docs.length];
+            for (int i = 0; i < docs.length; i++) {
+                if (!vivos.get(docs[i])) continue;
+                docs[n] = docs[i];
+                scores[n] = bm25(tfs[i], primeira.df(), tamanhoDoc[docs[i]], mediaTamanho);
+                n++;
+            }
+
+            for (int li = 1; li < listas.size() && n > 0; li++) {
+                ListaPostings l = listas.get(li);
+                int[] outrosDocs = new int[l.df()];
+                int[] outrosTfs = new int[l.df()];
+                l.decodificar(outrosDocs, outrosTfs);
+
+                // interseção de duas listas ordenadas
+                int m = 0, j = 0;
+                for (int i = 0; i < n; i++) {
+                    while (j < outrosDocs.length && outrosDocs[j] < docs[i]) j++;
+                    if (j == outrosDocs.length) break;
+                    if (outrosDocs[j] == docs[i]) {
+                        docs[m] = docs[i];
+                        scores[m] = scores[i] + bm25(outrosTfs[j], l.df(), tamanhoDoc[docs[i]], mediaTamanho);
+                        m++;
+                    }
+                }
+                n = m;
+            }
+
+            int[] imoveis = new int[n];
+            for (int i = 0; i < n; i++) imoveis[i] = imovelDoDoc[docs[i]];
+            return new ResultadoTextual(imoveis, Arrays.copyOf(scores, n));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private float bm25(int tf, int df, int tamanho, float mediaTamanho) {
+        double idf = Math.log(1 + (qtdVivos - df + 0.5) / (df + 0.5));
+        double norm = tf + K1 * (1 - B + B * tamanho / mediaTamanho);
+        return (float) (Math.max(idf, 0.0001) * tf * (K1 + 1) / norm);
+    }
+
+    // ========= INTERNOS (chamar com o write lock) =========
+
+    private void adicionar(ImovelModel m) {
+        Map<String, Integer> tf = new HashMap<>();
+        int tamanho = contar(tf, m.getTitulo(), PESO_TITULO)
+                + contar(tf, m.getCaracteristicas(), PESO_CARACTERISTICAS)
+                + contar(tf, m.getDescricao(), PESO_DESCRICAO);
+
+        int doc = proximoDoc++;
+        if (doc == imovelDoDoc.length) {
+            imovelDoDoc = Arrays.copyOf(imovelDoDoc, doc * 2);
+            tamanhoDoc = Arrays.copyOf(tamanhoDoc, doc * 2);
+        }
+        imovelDoDoc[doc] = m.getId();
+        tamanhoDoc[doc] = tamanho;
+        vivos.set(doc);
+        qtdVivos++;
+        somaTamanhos += tamanho;
+        docPorImovel.put(m.getId(), doc);
+
+        tf.forEach((termo, freq) -> termos.computeIfAbsent(termo, t -> new ListaPostings()).adicionar(doc, freq));
+    }
+
+    private static int contar(Map<String, Integer> tf, String texto, int peso) {
+        List<String> ts = AnalisadorTexto.termos(texto);
+        for (String t : ts) tf.merge(t, peso, Integer::sum);
+        return ts.size() * peso;
+    }
+
+    private void matar(Integer imovelId) {
+        Integer doc = docPorImovel.remove(imovelId);
+        if (doc == null) return;
+        vivos.clear(doc);
+        qtdVivos--;
+        somaTamanhos -= tamanhoDoc[doc];
+    }
+
+    private void compactarSePreciso() {
+        int mortos = proximoDoc - qtdVivos;
+        if (mortos < MINIMO_PARA_COMPACTAR || mortos * 3 < proximoDoc) return;
+
+        // novo número de cada doc vivo, na mesma ordem (mantém as listas crescentes)
+        int[] novoNumero = new int[proximoDoc];
+        int n = 0;
+        for (int d = 0; d < proximoDoc; d++) {
+            if (vivos.get(d)) {
+                novoNumero[d] = n;
+                imovelDoDoc[n] = imovelDoDoc[d];
+                tamanhoDoc[n] = tamanhoDoc[d];
+                n++;
+            } else {
+                novoNumero[d] = -1;
+            }
+        }
+
+        termos.replaceAll((termo, antiga) -> {
+            int[] docs = new int[antiga.df()];
+            int[] tfs = new int[antiga.df()];
+            antiga.decodificar(docs, tfs);
+            ListaPostings nova = new ListaPostings();
+            for (int i = 0; i < docs.length; i++) {
+                if (novoNumero[docs[i]] >= 0) nova.adicionar(novoNumero[docs[i]], tfs[i]);
+            }
+            nova.ajustar();
+            return nova;
+        });
+        termos.values().removeIf(l -> l.df() == 0);
+
+        docPorImovel.replaceAll((imovel, doc) -> novoNumero[doc]);
+        vivos.clear();
+        vivos.set(0, n);
+        proximoDoc = n;
+    }
+}
@@ -0,0 +1,549 @@
+// src/main/java/com/example/demo/Search/CatalogoIndex.java
+package com.example.demo.Search;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Models.ImovelModel;
+import com.example.demo.dtos.FacetasDTO;
+import com.example.demo.dtos.ImovelCursor;
+import com.example.demo.dtos.ImovelFiltroDTO;
+import com.example.demo.dtos.OrdenacaoImovel;
+import com.example.demo.dtos.PaginaCursorDTO;
+
+/**
+ * Índice em memória do catálogo de imóveis, em formato colunar:
+ * cada atributo filtrável é um array primitivo indexado por "slot",
+ * e os atributos categóricos (finalidade, status, bairro, tipo) têm
+ * um BitSet por valor. Uma busca vira AND de bitsets + varredura
+ * das colunas numéricas, sem passar pelo banco nem pelo Hibernate.
+ *
+ * As duas colunas de preço também ficam ordenadas (IndicePreco), então
+ * "menor preço"/"maior preço" e as faixas precoMin/precoMax não precisam
+ * ordenar o resultado: basta andar pela lista a partir da ponta certa.
+ *
+ * É atualizado incrementalmente pelo ImovelService a cada insert/update/delete
+ * e reconstruído por inteiro na subida da aplicação.
+ */
+@Component
+public class CatalogoIndex {
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    /** marcador de "coluna nula" nas colunas numéricas */
+    private static final long NULO = -1L;
+
+    // colunas de ordenação
+    private static final int POR_ID = 0;
+    private static final int POR_PRECO_VENDA = 1;
+    private static final int POR_PRECO_ALUGUEL = 2;
+    private static final int POR_AREA = 3;
+    private static final int POR_RELEVANCIA = 4;
+
+    // faixas de preço das facetas, em reais (a última é "acima de")
+    private static final long[] FAIXAS_VENDA = {0, 200_000, 400_000, 700_000, 1_000_000, 2_000_000};
+    private static final long[] FAIXAS_ALUGUEL = {0, 1_000, 2_000, 3_500, 5_000, 10_000};
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ---- colunas (posição = slot) ----
+    private int[] ids = new int[CAPACIDADE_INICIAL];
+    private long[] precoVenda = new long[CAPACIDADE_INICIAL];   // centavos
+    private long[] precoAluguel = new long[CAPACIDADE_INICIAL]; // centavos
+    private long[] area = new long[CAPACIDADE_INICIAL];         // centésimos de m²
+    private byte[] dormitorios = new byte[CAPACIDADE_INICIAL];
+    private byte[] banheiros = new byte[CAPACIDADE_INICIAL];
+    private byte[] garagem = new byte[CAPACIDADE_INICIAL];
+
+    // ---- bitsets por valor ----
+    private final BitSet ocupados = new BitSet();
+    private final Map<String, BitSet> porFinalidade = new HashMap<>();
+    private final Map<String, BitSet> porStatus = new HashMap<>();
+    private final Map<Integer, BitSet> porBairro = new HashMap<>();
+    private final Map<Integer, BitSet> porTipo = new HashMap<>();
+
+    // id do imóvel → slot, e pilha de slots liberados por deletes
+    private final Map<Integer, Integer> slotPorId = new HashMap<>();
+    private int[] livres = new int[64];
+    private int qtdLivres = 0;
+    private int proximoSlot = 0;
+
+    // colunas de preço ordenadas por (preço, id)
+    private final IndicePreco ordenadoVenda = new IndicePreco(CAPACIDADE_INICIAL);
+    private final IndicePreco ordenadoAluguel = new IndicePreco(CAPACIDADE_INICIAL);
+
+    // durante a carga inicial as listas ordenadas são montadas no final, de uma vez
+    private boolean carregando = false;
+
+    private volatile boolean pronto = false;
+
+    // ========= MANUTENÇÃO =========
+
+    /** Substitui todo o conteúdo do índice (carga inicial) */
+    public void reconstruir(Collection<ImovelModel> todos) {
+        lock.writeLock().lock();
+        try {
+            limpar();
+            carregando = true;
+            try {
+                for (ImovelModel m : todos) {
+                    gravar(m);
+                }
+            } finally {
+                carregando = false;
+            }
+            ordenadoVenda.reconstruir(precoVenda, ids, ocupados, NULO);
+            ordenadoAluguel.reconstruir(precoAluguel, ids, ocupados, NULO);
+            pronto = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Insere ou atualiza um imóvel */
+    public void atualizar(ImovelModel m) {
+        if (m == null || m.getId() == null) return;
+        lock.writeLock().lock();
+        try {
+            gravar(m);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Integer id) {
+        if (id == null) return;
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotPorId.remove(id);
+            if (slot == null) return;
+            desmarcar(slot);
+            tirarDosOrdenados(slot);
+            ocupados.clear(slot);
+            empilharLivre(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========= BUSCA =========
+
+    /**
+     * Mesma semântica de ImovelService.buscar (filtros, ordenação, cursor),
+     * mas devolve só os ids da página, na ordem certa.
+     *
+     * texto (opcional) restringe aos imóveis que casaram com a busca textual
+     * e fornece o score usado na ordenação por relevância.
+     */
+    public PaginaCursorDTO<Integer> buscar(ImovelFiltroDTO f, OrdenacaoImovel ordem,
+                                           ImovelCursor cursor, int tamanho, ResultadoTextual texto) {
+        boolean aluguel = f.isAluguel();
+        lock.readLock().lock();
+        try {
+            BitSet candidatos = candidatos(f);
+            float[] rel = texto == null ? null : scoresPorSlot(texto, candidatos);
+            int modo = texto != null && ordem.isPorRelevancia() ? POR_RELEVANCIA : modoOrdenacao(ordem, aluguel);
+            boolean asc = ordem.isAscendente();
+
+            long cursorValor = cursor == null ? NULO : chaveCursor(cursor, modo);
+            int cursorId = cursor == null ? 0 : cursor.id();
+
+            int k = tamanho + 1;
+            int[] melhores = new int[k];
+            int qtd = -1;
+
+            boolean porPreco = modo == POR_PRECO_VENDA || modo == POR_PRECO_ALUGUEL;
+            if (porPreco && (cursor == null || cursorValor != NULO)) {
+                qtd = andarPorPreco(modo == POR_PRECO_VENDA ? ordenadoVenda : ordenadoAluguel,
+                        candidatos, f, aluguel, asc, cursor == null ? null : cursorValor, cursorId, melhores);
+            }
+
+            if (qtd < 0) {
+                // top-(tamanho+1) por seleção parcial: só mantém ordenados os melhores k
+                qtd = 0;
+                for (int s = candidatos.nextSetBit(0); s >= 0; s = candidatos.nextSetBit(s + 1)) {
+                    if (!passaFaixas(s, f, aluguel)) continue;
+                    if (modo != POR_ID && chave(s, modo, rel) == NULO) continue;
+                    if (cursor != null && !depoisDoCursor(s, modo, rel, asc, cursorValor, cursorId)) continue;
+                    if (qtd == k && !antes(s, melhores[k - 1], modo, rel, asc)) continue;
+
+                    int pos = qtd < k ? qtd++ : k - 1;
+                    while (pos > 0 && antes(s, melhores[pos - 1], modo, rel, asc)) {
+                        melhores[pos] = melhores[pos - 1];
+                        pos--;
+                    }
+                    melhores[pos] = s;
+                }
+            }
+
+            boolean temMais = qtd > tamanho;
+            int n = Math.min(qtd, tamanho);
+            List<Integer> pagina = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) pagina.add(ids[melhores[i]]);
+
+            String proximo = null;
+            if (temMais) {
+                int ultimo = melhores[n - 1];
+                BigDecimal valor = switch (modo) {
+                    case POR_ID -> null;
+                    case POR_RELEVANCIA -> new BigDecimal(Float.toString(Float.intBitsToFloat((int) chave(ultimo, modo, rel))));
+                    default -> BigDecimal.valueOf(chave(ultimo, modo, rel), 2);
+                };
+                proximo = new ImovelCursor(valor, ids[ultimo]).codificar();
+            }
+            return new PaginaCursorDTO<>(pagina, proximo, temMais);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Página ordenada por preço direto da lista ordenada: recorta a faixa
+     * precoMin..precoMax e o que vem depois do cursor por busca binária e
+     * anda da ponta certa até juntar melhores.length slots que passam nos filtros.
+     *
+     * Devolve -1 quando os filtros são tão seletivos que varrer os candidatos
+     * sai mais barato (andar visita ~k·faixa/candidatos posições).
+     */
+    private int andarPorPreco(IndicePreco ordenado, BitSet candidatos, ImovelFiltroDTO f, boolean aluguel,
+                              boolean asc, Long cursorValor, int cursorId, int[] melhores) {
+        int ini = f.getPrecoMin() == null ? 0 : ordenado.inicioDaFaixa(centavos(f.getPrecoMin()));
+        int fim = f.getPrecoMax() == null ? ordenado.tamanho() : ordenado.fimDaFaixa(centavos(f.getPrecoMax()));
+        if (cursorValor != null) {
+            if (asc) ini = Math.max(ini, ordenado.depoisDe(cursorValor, cursorId));
+            else fim = Math.min(fim, ordenado.primeiraPosicao(cursorValor, cursorId));
+        }
+        if (ini >= fim) return 0;
+
+        int k = melhores.length;
+        long qtdCandidatos = candidatos.cardinality();
+        if (qtdCandidatos == 0) return 0;
+        if ((long) k * (fim - ini) > qtdCandidatos * qtdCandidatos) return -1;
+
+        int qtd = 0;
+        for (int i = asc ? ini : fim - 1; (asc ? i < fim : i >= ini) && qtd < k; i += asc ? 1 : -1) {
+            int s = ordenado.slot(i);
+            if (candidatos.get(s) && passaFaixas(s, f, aluguel)) melhores[qtd++] = s;
+        }
+        return qtd;
+    }
+
+    // ========= FACETAS =========
+
+    /**
+     * Contagens por finalidade, bairro, tipo, dormitórios e faixa de preço.
+     * Tudo sai de AND/cardinality dos bitsets por valor e de uma varredura
+     * das colunas nos slots candidatos — nada de GROUP BY.
+     */
+    public FacetasDTO facetas(ImovelFiltroDTO f, ResultadoTextual texto) {
+        boolean aluguel = f.isAluguel();
+        lock.readLock().lock();
+        try {
+            BitSet base = (BitSet) ocupados.clone();
+            if (texto != null) base.and(slotsDoTexto(texto));
+            if (f.getStatus() != null && !f.getStatus().isBlank()) {
+                base.and(bits(porStatus, f.getStatus().toUpperCase()));
+            }
+
+            // filtro de cada faceta (null = sem filtro)
+            BitSet fin = f.getFinalidade() == null || f.getFinalidade().isBlank()
+                    ? null : bits(porFinalidade, f.getFinalidade().toUpperCase());
+            BitSet bai = f.getBairroId() == null ? null : bits(porBairro, f.getBairroId());
+            BitSet tip = f.getTipoImovelId() == null ? null : bits(porTipo, f.getTipoImovelId());
+
+            // filtros numéricos, separados para poderem ser ignorados por faceta
+            BitSet precoOk = new BitSet(proximoSlot);
+            BitSet dormOk = new BitSet(proximoSlot);
+            BitSet restoOk = new BitSet(proximoSlot);
+            for (int s = base.nextSetBit(0); s >= 0; s = base.nextSetBit(s + 1)) {
+                if (passaPreco(s, f, aluguel)) precoOk.set(s);
+                if (passaDormitorios(s, f)) dormOk.set(s);
+                if (passaArea(s, f) && passaOutrosMinimos(s, f)) restoOk.set(s);
+            }
+
+            int total = e(base, fin, bai, tip, precoOk, dormOk, restoOk).cardinality();
+
+            // finalidade ignora também o preço, que depende dela
+            Map<String, Integer> finalidades = contarPorValor(porFinalidade,
+                    e(base, bai, tip, dormOk, restoOk));
+            Map<Integer, Integer> bairros = contarPorValor(porBairro,
+                    e(base, fin, tip, precoOk, dormOk, restoOk));
+            Map<Integer, Integer> tipos = contarPorValor(porTipo,
+                    e(base, fin, bai, precoOk, dormOk, restoOk));
+
+            Map<Integer, Integer> dormitoriosQtd = new TreeMap<>();
+            BitSet semDorm = e(base, fin, bai, tip, precoOk, restoOk);
+            for (int s = semDorm.nextSetBit(0); s >= 0; s = semDorm.nextSetBit(s + 1)) {
+                if (dormitorios[s] >= 0) dormitoriosQtd.merge((int) dormitorios[s], 1, Integer::sum);
+            }
+
+            long[] faixas = aluguel ? FAIXAS_ALUGUEL : FAIXAS_VENDA;
+            long[] precos = aluguel ? precoAluguel : precoVenda;
+            int[] qtdFaixa = new int[faixas.length];
+            BitSet semPreco = e(base, fin, bai, tip, dormOk, restoOk);
+            for (int s = semPreco.nextSetBit(0); s >= 0; s = semPreco.nextSetBit(s + 1)) {
+                if (precos[s] == NULO) continue;
+                int i = faixas.length - 1;
+                while (i > 0 && precos[s] < faixas[i] * 100) i--;
+                qtdFaixa[i]++;
+            }
+            List<FacetasDTO.FaixaPreco> faixasPreco = new ArrayList<>(faixas.length);
+            for (int i = 0; i < faixas.length; i++) {
+                BigDecimal max = i + 1 < faixas.length ? BigDecimal.valueOf(faixas[i + 1]) : null;
+                faixasPreco.add(new FacetasDTO.FaixaPreco(BigDecimal.valueOf(faixas[i]), max, qtdFaixa[i]));
+            }
+
+            return new FacetasDTO(total, finalidades, bairros, tipos, dormitoriosQtd, faixasPreco);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** AND de vários bitsets, ignorando os nulos (não altera os originais) */
+    private static BitSet e(BitSet base, BitSet... outros) {
+        BitSet r = (BitSet) base.clone();
+        for (BitSet b : outros) {
+            if (b != null) r.and(b);
+        }
+        return r;
+    }
+
+    private static <K> Map<K, Integer> contarPorValor(Map<K, BitSet> porValor, BitSet filtro) {
+        Map<K, Integer> r = new HashMap<>();
+        porValor.forEach((valor, bits) -> {
+            int qtd = bits.intersects(filtro) ? e(bits, filtro).cardinality() : 0;
+            if (qtd > 0) r.put(valor, qtd);
+        });
+        return r;
+    }
+
+    // ========= INTERNOS =========
+
+    /**
+     * Restringe os candidatos aos slots que casaram no texto e devolve
+     * o score de cada slot (índice = slot).
+     */
+    private float[] scoresPorSlot(ResultadoTextual texto, BitSet candidatos) {
+        float[] scores = new float[proximoSlot];
+        for (int i = 0; i < texto.tamanho(); i++) {
+            Integer slot = slotPorId.get(texto.imoveis()[i]);
+            if (slot != null) scores[slot] = texto.scores()[i];
+        }
+        candidatos.and(slotsDoTexto(texto));
+        return scores;
+    }
+
+    private BitSet slotsDoTexto(ResultadoTextual texto) {
+        BitSet casaram = new BitSet(proximoSlot);
+        for (int id : texto.imoveis()) {
+            Integer slot = slotPorId.get(id);
+            if (slot != null) casaram.set(slot);
+        }
+        return casaram;
+    }
+
+    /** AND dos bitsets categóricos; chamar com o read lock */
+    private BitSet candidatos(ImovelFiltroDTO f) {
+        BitSet r = (BitSet) ocupados.clone();
+        if (f.getFinalidade() != null && !f.getFinalidade().isBlank()) {
+            r.and(bits(porFinalidade, f.getFinalidade().toUpperCase()));
+        }
+        if (f.getStatus() != null && !f.getStatus().isBlank()) {
+            r.and(bits(porStatus, f.getStatus().toUpperCase()));
+        }
+        if (f.getBairroId() != null) r.and(bits(porBairro, f.getBairroId()));
+        if (f.getTipoImovelId() != null) r.and(bits(porTipo, f.getTipoImovelId()));
+        return r;
+    }
+
+    private static <K> BitSet bits(Map<K, BitSet> mapa, K chave) {
+        BitSet b = mapa.get(chave);
+        return b == null ? new BitSet() : b;
+    }
+
+    private boolean passaFaixas(int s, ImovelFiltroDTO f, boolean aluguel) {
+        return passaPreco(s, f, aluguel) && passaArea(s, f)
+                && passaDormitorios(s, f) && passaOutrosMinimos(s, f);
+    }
+
+    private boolean passaPreco(int s, ImovelFiltroDTO f, boolean aluguel) {
+        long preco = aluguel ? precoAluguel[s] : precoVenda[s];
+        if (f.getPrecoMin() != null && (preco == NULO || preco < centavos(f.getPrecoMin()))) return false;
+        if (f.getPrecoMax() != null && (preco == NULO || preco > centavos(f.getPrecoMax()))) return false;
+        return true;
+    }
+
+    private boolean passaArea(int s, ImovelFiltroDTO f) {
+        long a = area[s];
+        if (f.getAreaMin() != null && (a == NULO || a < centavos(f.getAreaMin()))) return false;
+        if (f.getAreaMax() != null && (a == NULO || a > centavos(f.getAreaMax()))) return false;
+        return true;
+    }
+
+    private boolean passaDormitorios(int s, ImovelFiltroDTO f) {
+        return f.getDormitoriosMin() == null || (dormitorios[s] >= 0 && dormitorios[s] >= f.getDormitoriosMin());
+    }
+
+    private boolean passaOutrosMinimos(int s, ImovelFiltroDTO f) {
+        if (f.getBanheirosMin() != null && (banheiros[s] < 0 || banheiros[s] < f.getBanheirosMin())) return false;
+        if (f.getGaragemMin() != null && (garagem[s] < 0 || garagem[s] < f.getGaragemMin())) return false;
+        return true;
+    }
+
+    private static int modoOrdenacao(OrdenacaoImovel ordem, boolean aluguel) {
+        if (ordem.isPorPreco()) return aluguel ? POR_PRECO_ALUGUEL : POR_PRECO_VENDA;
+        if (ordem.isPorArea()) return POR_AREA;
+        return POR_ID;
+    }
+
+    /** Valor da coluna de ordenação no slot (NULO quando a coluna é nula) */
+    private long chave(int s, int modo, float[] rel) {
+        switch (modo) {
+            case POR_PRECO_VENDA: return precoVenda[s];
+            case POR_PRECO_ALUGUEL: return precoAluguel[s];
+            case POR_AREA: return area[s];
+            // score ≥ 0, então a ordem dos bits do float é a mesma dos valores
+            case POR_RELEVANCIA: return Float.floatToIntBits(rel[s]);
+            default: return NULO;
+        }
+    }
+
+    /** true se o slot a vem antes do slot b na ordenação pedida */
+    private boolean antes(int a, int b, int modo, float[] rel, boolean asc) {
+        int c = modo == POR_ID ? 0 : Long.compare(chave(a, modo, rel), chave(b, modo, rel));
+        if (c == 0) c = Integer.compare(ids[a], ids[b]);
+        return asc ? c < 0 : c > 0;
+    }
+
+    private boolean depoisDoCursor(int s, int modo, float[] rel, boolean asc, long valor, int id) {
+        int c = (modo == POR_ID || valor == NULO) ? 0 : Long.compare(chave(s, modo, rel), valor);
+        if (c == 0) c = Integer.compare(ids[s], id);
+        return asc ? c > 0 : c < 0;
+    }
+
+    private static long chaveCursor(ImovelCursor cursor, int modo) {
+        if (cursor.valor() == null || modo == POR_ID) return NULO;
+        if (modo == POR_RELEVANCIA) return Float.floatToIntBits(cursor.valor().floatValue());
+        return centavos(cursor.valor());
+    }
+
+    /** Valor com 2 casas → inteiro (preço em centavos, área em centésimos de m²) */
+    static long centavos(BigDecimal v) {
+        if (v == null) return NULO;
+        return v.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static byte pequeno(Integer v) {
+        if (v == null) return -1;
+        return (byte) Math.max(0, Math.min(v, Byte.MAX_VALUE));
+    }
+
+    /** Grava a linha; chamar com o write lock */
+    private void gravar(ImovelModel m) {
+        Integer existente = slotPorId.get(m.getId());
+        int slot;
+        if (existente != null) {
+            slot = existente;
+            desmarcar(slot);
+            tirarDosOrdenados(slot);
+        } else {
+            slot = novoSlot();
+            slotPorId.put(m.getId(), slot);
+        }
+
+        ids[slot] = m.getId();
+        precoVenda[slot] = centavos(m.getPrecoVenda());
+        precoAluguel[slot] = centavos(m.getPrecoAluguel());
+        area[slot] = centavos(m.getAreaTotal());
+        dormitorios[slot] = pequeno(m.getDormitorios());
+        banheiros[slot] = pequeno(m.getBanheiros());
+        garagem[slot] = pequeno(m.getGaragem());
+
+        ocupados.set(slot);
+        if (!carregando) {
+            if (precoVenda[slot] != NULO) ordenadoVenda.inserir(precoVenda[slot], ids[slot], slot);
+            if (precoAluguel[slot] != NULO) ordenadoAluguel.inserir(precoAluguel[slot], ids[slot], slot);
+        }
+        if (m.getFinalidade() != null) marcar(porFinalidade, m.getFinalidade().toUpperCase(), slot);
+        if (m.getStatus() != null) marcar(porStatus, m.getStatus().toUpperCase(), slot);
+        // getId() em proxy LAZY não dispara consulta
+        if (m.getBairro() != null) marcar(porBairro, m.getBairro().getId(), slot);
+        if (m.getTipoImovel() != null) marcar(porTipo, m.getTipoImovel().getId(), slot);
+    }
+
+    private static <K> void marcar(Map<K, BitSet> mapa, K chave, int slot) {
+        if (chave == null) return;
+        mapa.computeIfAbsent(chave, c -> new BitSet()).set(slot);
+    }
+
+    private void desmarcar(int slot) {
+        porFinalidade.values().forEach(b -> b.clear(slot));
+        porStatus.values().forEach(b -> b.clear(slot));
+        porBairro.values().forEach(b -> b.clear(slot));
+        porTipo.values().forEach(b -> b.clear(slot));
+    }
+
+    private void tirarDosOrdenados(int slot) {
+        if (precoVenda[slot] != NULO) ordenadoVenda.remover(precoVenda[slot], ids[slot]);
+        if (precoAluguel[slot] != NULO) ordenadoAluguel.remover(precoAluguel[slot], ids[slot]);
+    }
+
+    private int novoSlot() {
+        if (qtdLivres > 0) return livres[--qtdLivres];
+        if (proximoSlot == ids.length) crescer();
+        return proximoSlot++;
+    }
+
+    private void empilharLivre(int slot) {
+        if (qtdLivres == livres.length) livres = Arrays.copyOf(livres, livres.length * 2);
+        livres[qtdLivres++] = slot;
+    }
+
+    private void crescer() {
+        int n = ids.length * 2;
+        ids = Arrays.copyOf(ids, n);
+        precoVenda = Arrays.copyOf(precoVenda, n);
+        precoAluguel = Arrays.copyOf(precoAluguel, n);
+        area = Arrays.copyOf(area, n);
+        dormitorios = Arrays.copyOf(dormitorios, n);
+        banheiros = Arrays.copyOf(banheiros, n);
+        garagem = Arrays.copyOf(garagem, n);
+    }
+
+    private void limpar() {
+        ocupados.clear();
+        porFinalidade.clear();
+        porStatus.clear();
+        porBairro.clear();
+        porTipo.clear();
+        ordenadoVenda.limpar();
+        ordenadoAluguel.limpar();
+        slotPorId.clear();
+        qtdLivres = 0;
+        proximoSlot = 0;
+    }
+}
@@ -0,0 +1,203 @@
+// src/main/java/com/example/demo/Search/GeoIndex.java
+package com.example.demo.Search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Models.ImovelModel;
+
+/**
+ * Índice geográfico em memória: grade regular de células de 0,01° (~1,1 km)
+ * e, em cada célula, os ids dos imóveis que caem nela.
+ *
+ * Raio e retângulo só visitam as células que cobrem a área pedida e
+ * calculam a distância (haversine) apenas para esses candidatos.
+ * Inserção e remoção são O(1) por imóvel.
+ *
+ * O status de cada imóvel fica junto da posição para o filtro (ex.: só
+ * ATIVO no mapa público) ser aplicado antes do limite, e não depois.
+ */
+@Component
+public class GeoIndex {
+
+    private static final double TAMANHO_CELULA = 0.01; // graus
+    private static final double RAIO_TERRA_KM = 6371.0088;
+    private static final double KM_POR_GRAU_LAT = 111.32;
+
+    // acima disso sai mais barato varrer todos os pontos do que as células
+    private static final long MAX_CELULAS_VISITADAS = 200_000;
+
+    /** Imóvel encontrado + distância ao centro (NaN na busca por retângulo) */
+    public record Ponto(int id, double latitude, double longitude, double distanciaKm) {}
+
+    private record Posicao(double lat, double lon, long celula, String status) {
+
+        boolean temStatus(String pedido) {
+            return pedido == null || pedido.equals(status);
+        }
+    }
+
+    /** ids de uma célula; remoção troca com o último (ordem não importa) */
+    private static final class Celula {
+        int[] ids = new int[4];
+        int n = 0;
+
+        void add(int id) {
+            if (n == ids.length) ids = Arrays.copyOf(ids, n * 2);
+            ids[n++] = id;
+        }
+
+        void remove(int id) {
+            for (int i = 0; i < n; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--n];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Celula> celulas = new HashMap<>();
+    private final Map<Integer, Posicao> posicoes = new HashMap<>();
+
+    // ========= MANUTENÇÃO =========
+
+    public void reconstruir(Collection<ImovelModel> todos) {
+        lock.writeLock().lock();
+        try {
+            celulas.clear();
+            posicoes.clear();
+            for (ImovelModel m : todos) gravar(m);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void atualizar(ImovelModel m) {
+        if (m == null || m.getId() == null) return;
+        lock.writeLock().lock();
+        try {
+            tirar(m.getId());
+            gravar(m);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Integer id) {
+        if (id == null) return;
+        lock.writeLock().lock();
+        try {
+            tirar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ========= CONSULTAS =========
+
+    /** Imóveis a até raioKm do centro, do mais perto para o mais longe (status null = qualquer um) */
+    public List<Ponto> raio(double lat, double lon, double raioKm, String status, int limite) {
+        double dLat = raioKm / KM_POR_GRAU_LAT;
+        double dLon = raioKm / (KM_POR_GRAU_LAT * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+
+        List<Ponto> r = new ArrayList<>();
+        visitar(lat - dLat, lon - dLon, lat + dLat, lon + dLon, (id, p) -> {
+            if (!p.temStatus(status)) return;
+            double d = haversine(lat, lon, p.lat(), p.lon());
+            if (d <= raioKm) r.add(new Ponto(id, p.lat(), p.lon(), d));
+        });
+        r.sort(Comparator.comparingDouble(Ponto::distanciaKm).thenComparingInt(Ponto::id));
+        return r.size() > limite ? new ArrayList<>(r.subList(0, limite)) : r;
+    }
+
+    /** Imóveis dentro do retângulo (ordem por id; status null = qualquer um) */
+    public List<Ponto> retangulo(double minLat, double minLon, double maxLat, double maxLon, String status,
+                                 int limite) {
+        List<Ponto> r = new ArrayList<>();
+        visitar(minLat, minLon, maxLat, maxLon, (id, p) -> {
+            if (p.temStatus(status) && p.lat() >= minLat && p.lat() <= maxLat && p.lon() >= minLon && p.lon() <= maxLon) {
+                r.add(new Ponto(id, p.lat(), p.lon(), Double.NaN));
+            }
+        });
+        r.sort(Comparator.comparingInt(Ponto::id));
+        return r.size() > limite ? new ArrayList<>(r.subList(0, limite)) : r;
+    }
+
+    // ========= INTERNOS =========
+
+    private interface Visitante {
+        void visitar(int id, Posicao p);
+    }
+
+    private void visitar(double minLat, double minLon, double maxLat, double maxLon, Visitante v) {
+        long linhaIni = indice(minLat), linhaFim = indice(maxLat);
+        long colIni = indice(minLon), colFim = indice(maxLon);
+
+        lock.readLock().lock();
+        try {
+            long qtdCelulas = (linhaFim - linhaIni + 1) * (colFim - colIni + 1);
+            if (qtdCelulas > MAX_CELULAS_VISITADAS || qtdCelulas > posicoes.size()) {
+                // área enorme (mais células que pontos): varre os pontos direto
+                posicoes.forEach((id, p) -> v.visitar(id, p));
+                return;
+            }
+            for (long linha = linhaIni; linha <= linhaFim; linha++) {
+                for (long col = colIni; col <= colFim; col++) {
+                    Celula c = celulas.get(chave(linha, col));
+                    if (c == null) continue;
+                    for (int i = 0; i < c.n; i++) {
+                        int id = c.ids[i];
+                        v.visitar(id, posicoes.get(id));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void gravar(ImovelModel m) {
+        if (m.getLatitude() == null || m.getLongitude() == null) return;
+        double lat = m.getLatitude(), lon = m.getLongitude();
+        long celula = chave(indice(lat), indice(lon));
+        String status = m.getStatus() == null ? null : m.getStatus().toUpperCase();
+        posicoes.put(m.getId(), new Posicao(lat, lon, celula, status));
+        celulas.computeIfAbsent(celula, k -> new Celula()).add(m.getId());
+    }
+
+    private void tirar(Integer id) {
+        Posicao antiga = posicoes.remove(id);
+        if (antiga == null) return;
+        Celula c = celulas.get(antiga.celula());
+        if (c == null) return;
+        c.remove(id);
+        if (c.n == 0) celulas.remove(antiga.celula());
+    }
+
+    private static long indice(double grau) {
+        return (long) Math.floor(grau / TAMANHO_CELULA);
+    }
+
+    private static long chave(long linha, long col) {
+        return (linha << 32) ^ (col & 0xFFFFFFFFL);
+    }
+
+    static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,126 @@
+// src/main/java/com/example/demo/Search/IndicePreco.java
+package com.example.demo.Search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Uma coluna de preço mantida ordenada por (preço, id): arrays primitivos
+ * paralelos com o preço em centavos, o id do imóvel e o slot no CatalogoIndex.
+ *
+ * Inserção/remoção acham a posição por busca binária e deslocam o resto
+ * com System.arraycopy; faixas de preço viram duas buscas binárias, e o
+ * top-K mais barato/mais caro é só andar do começo ou do fim.
+ * Preços nulos não entram. Não é thread-safe: quem usa segura o lock.
+ */
+final class IndicePreco {
+
+    private long[] precos;
+    private int[] ids;
+    private int[] slots;
+    private int n = 0;
+
+    IndicePreco(int capacidade) {
+        precos = new long[capacidade];
+        ids = new int[capacidade];
+        slots = new int[capacidade];
+    }
+
+    int tamanho() {
+        return n;
+    }
+
+    long preco(int pos) {
+        return precos[pos];
+    }
+
+    int slot(int pos) {
+        return slots[pos];
+    }
+
+    void inserir(long preco, int id, int slot) {
+        if (n == precos.length) {
+            int cap = Math.max(16, n * 2);
+            precos = Arrays.copyOf(precos, cap);
+            ids = Arrays.copyOf(ids, cap);
+            slots = Arrays.copyOf(slots, cap);
+        }
+        int pos = primeiraPosicao(preco, id);
+        System.arraycopy(precos, pos, precos, pos + 1, n - pos);
+        System.arraycopy(ids, pos, ids, pos + 1, n - pos);
+        System.arraycopy(slots, pos, slots, pos + 1, n - pos);
+        precos[pos] = preco;
+        ids[pos] = id;
+        slots[pos] = slot;
+        n++;
+    }
+
+    void remover(long preco, int id) {
+        int pos = primeiraPosicao(preco, id);
+        if (pos == n || precos[pos] != preco || ids[pos] != id) return;
+        System.arraycopy(precos, pos + 1, precos, pos, n - pos - 1);
+        System.arraycopy(ids, pos + 1, ids, pos, n - pos - 1);
+        System.arraycopy(slots, pos + 1, slots, pos, n - pos - 1);
+        n--;
+    }
+
+    void limpar() {
+        n = 0;
+    }
+
+    /**
+     * Carga em lote: monta tudo de uma vez com um único sort,
+     * em vez de n inserções com deslocamento.
+     */
+    void reconstruir(long[] colunaPreco, int[] colunaIds, BitSet ocupados, long nulo) {
+        int qtd = 0;
+        Integer[] ordem = new Integer[ocupados.cardinality()];
+        for (int s = ocupados.nextSetBit(0); s >= 0; s = ocupados.nextSetBit(s + 1)) {
+            if (colunaPreco[s] != nulo) ordem[qtd++] = s;
+        }
+        Arrays.sort(ordem, 0, qtd, (a, b) -> {
+            int c = Long.compare(colunaPreco[a], colunaPreco[b]);
+            return c != 0 ? c : Integer.compare(colunaIds[a], colunaIds[b]);
+        });
+
+        int cap = Math.max(qtd, 16);
+        precos = new long[cap];
+        ids = new int[cap];
+        slots = new int[cap];
+        for (int i = 0; i < qtd; i++) {
+            int s = ordem[i];
+            precos[i] = colunaPreco[s];
+            ids[i] = colunaIds[s];
+            slots[i] = s;
+        }
+        n = qtd;
+    }
+
+    /** Primeira posição com (preço, id) ≥ (preco, id) */
+    int primeiraPosicao(long preco, int id) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int meio = (lo + hi) >>> 1;
+            int c = Long.compare(precos[meio], preco);
+            if (c == 0) c = Integer.compare(ids[meio], id);
+            if (c < 0) lo = meio + 1;
+            else hi = meio;
+        }
+        return lo;
+    }
+
+    /** Primeira posição com (preço, id) > (preco, id) */
+    int depoisDe(long preco, int id) {
+        return id == Integer.MAX_VALUE ? primeiraPosicao(preco + 1, Integer.MIN_VALUE) : primeiraPosicao(preco, id + 1);
+    }
+
+    /** Primeira posição com preço ≥ preco */
+    int inicioDaFaixa(long preco) {
+        return primeiraPosicao(preco, Integer.MIN_VALUE);
+    }
+
+    /** Primeira posição com preço > preco */
+    int fimDaFaixa(long preco) {
+        return preco == Long.MAX_VALUE ? n : primeiraPosicao(preco + 1, Integer.MIN_VALUE);
+    }
+}
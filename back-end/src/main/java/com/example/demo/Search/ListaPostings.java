@@ -0,0 +1,75 @@
+// src/main/java/com/example/demo/Search/ListaPostings.java
+package com.example.demo.Search;
+
+import java.util.Arrays;
+
+/**
+ * Lista de ocorrências (doc, frequência) de um termo, guardada comprimida
+ * num único byte[]: cada entrada é varint(delta do doc) + varint(tf).
+ * Como os docs internos são sempre crescentes, os deltas são pequenos e
+ * a maioria das entradas ocupa 2 bytes.
+ */
+final class ListaPostings {
+
+    private byte[] dados = new byte[8];
+    private int bytes = 0;
+    private int df = 0;
+    private int ultimoDoc = -1;
+
+    /** doc precisa ser maior que o último adicionado */
+    void adicionar(int doc, int tf) {
+        escrever(doc - ultimoDoc);
+        escrever(tf);
+        ultimoDoc = doc;
+        df++;
+    }
+
+    /** quantidade de docs na lista (inclui docs já removidos até a próxima compactação) */
+    int df() {
+        return df;
+    }
+
+    int bytesUsados() {
+        return bytes;
+    }
+
+    /** Descomprime em docs[]/tfs[] (precisam ter pelo menos df() posições) */
+    void decodificar(int[] docs, int[] tfs) {
+        int pos = 0;
+        int doc = -1;
+        for (int i = 0; i < df; i++) {
+            int v = 0, shift = 0, b;
+            do {
+                b = dados[pos++];
+                v |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            doc += v;
+
+            int tf = 0;
+            shift = 0;
+            do {
+                b = dados[pos++];
+                tf |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            docs[i] = doc;
+            tfs[i] = tf;
+        }
+    }
+
+    private void escrever(int v) {
+        if (bytes + 5 > dados.length) dados = Arrays.copyOf(dados, Math.max(dados.length * 2, bytes + 5));
+        while ((v & ~0x7F) != 0) {
+            dados[bytes++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        dados[bytes++] = (byte) v;
+    }
+
+    /** Libera a folga do buffer (usado após a compactação) */
+    void ajustar() {
+        if (dados.length > bytes) dados = Arrays.copyOf(dados, Math.max(bytes, 1));
+    }
+}
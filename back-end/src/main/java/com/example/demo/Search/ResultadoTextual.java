@@ -0,0 +1,12 @@
+package com.example.demo.Search;
+
+/**
+ * Resultado de uma consulta textual: ids dos imóveis que casaram
+ * e o score BM25 de cada um (mesma posição nos dois arrays).
+ */
+public record ResultadoTextual(int[] imoveis, float[] scores) {
+
+    public int tamanho() {
+        return imoveis.length;
+    }
+}
@@ -0,0 +1,70 @@
+// src/main/java/com/example/demo/Search/StemmerPortugues.java
+package com.example.demo.Search;
+
+/**
+ * Stemmer leve para português, no espírito do RSLP (Orengo & Huyck):
+ * redução de plural, de aumentativo/diminutivo, de advérbio, de sufixos
+ * nominais comuns e da vogal final. Trabalha sobre a palavra já minúscula
+ * e SEM acentos (ver AnalisadorTexto), por isso as regras usam "oes", "acao" etc.
+ *
+ * Não tenta ser completo: o objetivo é que "sacada"/"sacadas"/"sacado",
+ * "apartamento"/"apartamentos" e "piscina"/"piscinas" caiam no mesmo radical.
+ */
+final class StemmerPortugues {
+
+    private StemmerPortugues() {}
+
+    private static final int RADICAL_MINIMO = 3;
+
+    // {sufixo, substituição}
+    private static final String[][] PLURAL = {
+            {"oes", "ao"}, {"aes", "ao"}, {"ais", "al"}, {"eis", "el"}, {"ois", "ol"},
+            {"ns", "m"}, {"res", "r"}, {"zes", "z"}, {"les", "l"},
+    };
+
+    private static final String[] AUMENTATIVO = {
+            "zinhas", "zinhos", "zinha", "zinho", "inhas", "inhos", "inha", "inho",
+            "issimas", "issimos", "issima", "issimo", "zao", "ona",
+    };
+
+    private static final String[] NOMINAL = {
+            "amentos", "imentos", "amento", "imento", "acoes", "acao", "idades", "idade",
+            "ismos", "ismo", "istas", "ista", "aveis", "avel", "iveis", "ivel",
+            "eiras", "eiros", "eira", "eiro", "osas", "osos", "osa", "oso",
+    };
+
+    static String stem(String p) {
+        if (p.length() <= RADICAL_MINIMO) return p;
+
+        p = plural(p);
+        p = removerSufixo(p, new String[] {"mente"});
+        p = removerSufixo(p, AUMENTATIVO);
+        p = removerSufixo(p, NOMINAL);
+
+        // vogal final (junta masculino/feminino: sacada/sacado → sacad)
+        char ultima = p.charAt(p.length() - 1);
+        if (p.length() > RADICAL_MINIMO && (ultima == 'a' || ultima == 'e' || ultima == 'o')) {
+            p = p.substring(0, p.length() - 1);
+        }
+        return p;
+    }
+
+    private static String plural(String p) {
+        if (!p.endsWith("s") || p.endsWith("ss") || p.endsWith("us")) return p;
+        for (String[] regra : PLURAL) {
+            if (p.endsWith(regra[0]) && p.length() - regra[0].length() >= RADICAL_MINIMO - 1) {
+                return p.substring(0, p.length() - regra[0].length()) + regra[1];
+            }
+        }
+        return p.substring(0, p.length() - 1);
+    }
+
+    private static String removerSufixo(String p, String[] sufixos) {
+        for (String s : sufixos) {
+            if (p.endsWith(s) && p.length() - s.length() >= RADICAL_MINIMO) {
+                return p.substring(0, p.length() - s.length());
+            }
+        }
+        return p;
+    }
+}
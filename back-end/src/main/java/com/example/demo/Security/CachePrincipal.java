@@ -0,0 +1,68 @@
+// src/main/java/com/example/demo/Security/CachePrincipal.java
+package com.example.demo.Security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Cache.CacheLimitado;
+import com.example.demo.Cache.EstatisticasCache;
+import com.example.demo.Models.UserModel;
+import com.example.demo.Repositories.UserRepository;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Monta o UsuarioAutenticado a partir das claims do token.
+ *
+ * Tokens novos trazem uid e role e não precisam de nada além das claims.
+ * Tokens emitidos antes disso (só sub = e-mail) ainda valem até expirar:
+ * para eles o usuário é buscado uma vez e guardado por um TTL curto,
+ * em vez de uma consulta a cada requisição.
+ */
+@Component
+public class CachePrincipal {
+
+    /** principal resolvido pelo banco + até quando vale */
+    private record Entrada(UsuarioAutenticado usuario, long expiraEm) {}
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final CacheLimitado<String, Entrada> porEmail;
+
+    public CachePrincipal(
+            UserRepository userRepository,
+            @Value("${api.security.principal-cache.ttl-ms:60000}") long ttlMs,
+            @Value("${api.security.principal-cache.size:10000}") int tamanho) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.porEmail = new CacheLimitado<>("jwt.principais", tamanho);
+    }
+
+    /** null se o token não identifica nenhum usuário existente */
+    public UsuarioAutenticado resolver(Claims claims) {
+        Integer uid = claims.get(JwtService.CLAIM_UID, Integer.class);
+        String email = claims.getSubject();
+        if (uid != null) {
+            return new UsuarioAutenticado(uid, email,
+                    claims.get(JwtService.CLAIM_NOME, String.class),
+                    claims.get(JwtService.CLAIM_ROLE, String.class));
+        }
+        if (email == null) return null;
+
+        Entrada e = porEmail.get(email);
+        if (e != null && System.currentTimeMillis() < e.expiraEm()) return e.usuario();
+
+        UserModel user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            porEmail.invalidar(email);
+            return null;
+        }
+        UsuarioAutenticado u = new UsuarioAutenticado(user.getId(), user.getEmail(), user.getName(), user.getRole());
+        porEmail.put(email, new Entrada(u, System.currentTimeMillis() + ttlMs));
+        return u;
+    }
+
+    public EstatisticasCache estatisticas() {
+        return porEmail.estatisticas();
+    }
+}
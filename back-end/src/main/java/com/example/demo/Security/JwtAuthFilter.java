@@ -2,10 +2,6 @@
 package com.example.demo.Security;
 
 import java.io.IOException;
-import java.util.List;
-
-import com.example.demo.Models.UserModel;
-import com.example.demo.Repositories.UserRepository;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -20,6 +16,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+
+import com.example.demo.config.AmostraLog;
+import com.example.demo.config.ContextoRequisicao;
+
+import io.jsonwebtoken.Claims;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
@@ -31,7 +32,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private JwtService jwt; // ✅ usa o JwtService que criamos acima
 
     @Autowired
-    private UserRepository userRepository;
+    private CachePrincipal principais;
+
+    @Autowired
+    private RevogacaoTokens revogacoes;
 
     @Override
     protected void doFilterInternal(
@@ -39,35 +43,34 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain chain) throws IOException, ServletException {
 
-        String path = request.getRequestURI();
         String auth = request.getHeader("Authorization");
 
-        log.info("[JwtAuthFilter] Requisição para {} - Authorization = {}", path, auth);
-
         if (auth != null && auth.startsWith("Bearer ")) {
             String token = auth.substring(7);
 
             try {
-                // valida token e extrai o e-mail
-                String email = jwt.validateAndGetSubject(token);
-                log.info("[JwtAuthFilter] Token válido para email = {}", email);
+                // valida token e extrai as claims (uid, sub = e-mail, role)
+                Claims claims = jwt.validateAndGetClaims(token);
+                String email = claims.getSubject();
 
-                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // logout: jti revogado (Bloom em memória; só um "talvez" olha o conjunto exato)
+                if (revogacoes.revogado(claims.getId())) {
+                    throw new IllegalStateException("Token revogado");
+                }
 
-                    UserModel user = userRepository.findByEmail(email).orElse(null);
+                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                    if (user == null) {
-                        log.warn("[JwtAuthFilter] Usuário não encontrado no banco para email = {}", email);
-                    } else {
-                        log.info("[JwtAuthFilter] Usuário encontrado: id={}, email={}",
-                                user.getId(), user.getEmail());
+                    // principal sai das claims; o banco só é consultado para tokens antigos sem uid
+                    UsuarioAutenticado usuario = principais.resolver(claims);
+                    if (usuario == null) {
+                        throw new IllegalStateException("Usuário do token não existe mais: " + email);
                     }
 
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
-                                    email,   // principal
-                                    null,    // credentials
-                                    List.of() // authorities vazias
+                                    usuario,               // principal (id, email, role)
+                                    null,                  // credentials
+                                    usuario.authorities()  // ROLE_<role>
                             );
 
                     authentication.setDetails(
@@ -75,11 +78,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     );
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    log.info("[JwtAuthFilter] Authentication registrado no SecurityContext para {}", email);
+                    ContextoRequisicao.put("uid", usuario.id());
                 }
 
             } catch (Exception e) {
-                log.error("[JwtAuthFilter] Erro ao validar token: {}", e.getMessage(), e);
+                // token inválido é rotina (expirou, revogado): vai na linha da requisição, sem stack trace
+                ContextoRequisicao.put("auth", e.getClass().getSimpleName());
+                if (AmostraLog.debug(log, 100)) {
+                    log.debug("[JwtAuthFilter] Token rejeitado em {}: {}", request.getRequestURI(), e.getMessage());
+                }
 
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setContentType("application/json;charset=UTF-8");
@@ -89,8 +96,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 return;
             }
 
-        } else {
-            log.info("[JwtAuthFilter] Nenhum token Bearer na requisição para {}", path);
         }
 
         chain.doFilter(request, response);
@@ -104,10 +109,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 p.startsWith("/auth/") ||
                 p.startsWith("/users/register");
 
-        if (ignorar) {
-            log.info("[JwtAuthFilter] Ignorando filtro JWT para {}", p);
-        }
-
         return ignorar;
     }
 }
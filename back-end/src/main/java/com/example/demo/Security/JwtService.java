@@ -2,36 +2,58 @@
 package com.example.demo.Security;
 
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
+import com.example.demo.Cache.CacheLimitado;
+import com.example.demo.Cache.EstatisticasCache;
 import com.example.demo.Models.UserModel;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 
-import java.security.Key;
-
 @Service
 public class JwtService {
 
-    // segredo usado para assinar e validar o JWT
-    @Value("${api.security.token.secret}")
-    private String secret;
+    // claims extras do token (além de sub = email, iat e exp)
+    public static final String CLAIM_UID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_NOME = "name";
+
+    /** Token já verificado: claims + instante de expiração (exp) em ms */
+    private record TokenVerificado(Claims claims, long expiraEm) {}
 
-    // expiração em milissegundos (padrão: 24h)
-    @Value("${api.security.token.expiration-ms:86400000}")
-    private long expirationMs;
+    private final long expirationMs;
 
-    /** Cria a chave criptográfica a partir da string do .properties */
-    private Key getSigningKey() {
+    // chave e parser são imutáveis e thread-safe: montados uma vez só
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    // tokens com assinatura já conferida, pela SHA-256 do token
+    private final CacheLimitado<String, TokenVerificado> verificados;
+
+    public JwtService(
+            // segredo usado para assinar e validar o JWT
+            @Value("${api.security.token.secret}") String secret,
+            // expiração do token de acesso em milissegundos (padrão: 15 min; renovado por /auth/refresh)
+            @Value("${api.security.token.expiration-ms:900000}") long expirationMs,
+            // quantos tokens verificados manter em memória
+            @Value("${api.security.token.cache-size:10000}") int tamanhoCache) {
+        this.expirationMs = expirationMs;
         // usa os bytes da string diretamente (NÃO tenta decodificar Base64)
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         // HS256 exige pelo menos 256 bits (32 bytes) → garante uma chave forte
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verificados = new CacheLimitado<>("jwt.verificados", tamanhoCache);
     }
 
     /** Gera o token JWT a partir do usuário */
@@ -41,23 +63,57 @@ public class JwtService {
 
         return Jwts.builder()
                 .setSubject(user.getEmail())              // sub = email
-                .claim("role", user.getRole())            // payload extra
-                .claim("name", user.getName())
+                .claim(CLAIM_UID, user.getId())           // id/role no token: o filtro não consulta o banco
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_NOME, user.getName())
+                .setId(UUID.randomUUID().toString())      // jti: permite revogar este token (logout)
                 .setIssuedAt(agora)
                 .setExpiration(expira)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256) // 👈 aqui mudou
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     /** Valida o token e devolve o subject (email) */
     public String validateAndGetSubject(String token) {
-        Claims claims = Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())           // 👈 mesmo segredo
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject(); // email
+        return validateAndGetClaims(token).getSubject(); // email
+    }
+
+    /**
+     * Valida o token e devolve as claims. Um token que já passou pela
+     * verificação de assinatura é atendido do cache até o seu exp;
+     * depois disso cai de novo no parser (que lança ExpiredJwtException).
+     */
+    public Claims validateAndGetClaims(String token) {
+        String chave = digest(token);
+        TokenVerificado cache = verificados.get(chave);
+        if (cache != null) {
+            if (System.currentTimeMillis() < cache.expiraEm()) return cache.claims();
+            verificados.invalidar(chave);
+        }
+
+        Claims claims = verificar(token);
+        // sem exp não guarda: não teria quando sair do cache
+        if (claims.getExpiration() != null) {
+            verificados.put(chave, new TokenVerificado(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
+    }
+
+    public EstatisticasCache estatisticasCache() {
+        return verificados.estatisticas();
+    }
+
+    /** Verificação completa (assinatura + exp), sem cache */
+    Claims verificar(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
 }
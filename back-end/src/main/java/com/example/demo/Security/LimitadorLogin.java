@@ -0,0 +1,127 @@
+// src/main/java/com/example/demo/Security/LimitadorLogin.java
+package com.example.demo.Security;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Freio de tentativas de login erradas, por e-mail e por IP.
+ *
+ * Cada chave tem um token bucket guardado num único AtomicLong (GCRA:
+ * o "instante teórico" em que o balde volta a ficar cheio), atualizado
+ * por CAS — sem lock. Os baldes ficam em ConcurrentHashMap (segmentado
+ * internamente) e somem sozinhos depois de cheios de novo: uma varredura
+ * oportunista remove as chaves expiradas de tempos em tempos.
+ *
+ * Toda tentativa reserva uma ficha antes de conferir a senha (tentar());
+ * o login certo devolve a dele. Assim uma rajada paralela para o mesmo
+ * e-mail/IP esbarra no limite na hora, e não só depois que os BCrypt
+ * terminam. O 429 sai antes de findByEmail e do BCrypt.
+ */
+@Component
+public class LimitadorLogin {
+
+    // varre os mapas a cada tantas falhas registradas
+    private static final int VARRER_A_CADA = 1024;
+
+    private final Baldes porEmail;
+    private final Baldes porIp;
+
+    public LimitadorLogin(
+            @Value("${api.security.login.email.tentativas:5}") int tentativasEmail,
+            @Value("${api.security.login.email.janela-ms:300000}") long janelaEmailMs,
+            @Value("${api.security.login.ip.tentativas:30}") int tentativasIp,
+            @Value("${api.security.login.ip.janela-ms:300000}") long janelaIpMs) {
+        this.porEmail = new Baldes(tentativasEmail, janelaEmailMs);
+        this.porIp = new Baldes(tentativasIp, janelaIpMs);
+    }
+
+    /**
+     * Reserva uma ficha do e-mail e uma do IP, atomicamente em cada balde.
+     * 0 se pode tentar (a ficha já foi gasta: login errado não precisa
+     * registrar nada); senão, quantos segundos esperar (Retry-After) e
+     * nada é consumido.
+     */
+    public long tentar(String email, String ip) {
+        long agora = agoraMs();
+        String chave = chaveEmail(email);
+        long espera = porEmail.tentar(chave, agora);
+        if (espera <= 0) {
+            espera = porIp.tentar(ip, agora);
+            // o IP barrou: a ficha do e-mail volta
+            if (espera > 0) porEmail.devolver(chave);
+        }
+        return espera <= 0 ? 0 : Math.max(1, (espera + 999) / 1000);
+    }
+
+    /** A tentativa não chegou a conferir a senha (ex.: pool de BCrypt cheio): devolve as fichas */
+    public void devolver(String email, String ip) {
+        porEmail.devolver(chaveEmail(email));
+        porIp.devolver(ip);
+    }
+
+    /** Login certo: zera o balde do e-mail e devolve a ficha do IP (as falhas do IP seguem valendo) */
+    public void registrarSucesso(String email, String ip) {
+        String chave = chaveEmail(email);
+        if (chave != null) porEmail.mapa.remove(chave);
+        porIp.devolver(ip);
+    }
+
+    private static String chaveEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long agoraMs() {
+        return System.nanoTime() / 1_000_000;
+    }
+
+    /** Um conjunto de baldes com a mesma capacidade/janela */
+    private static final class Baldes {
+
+        final ConcurrentHashMap<String, AtomicLong> mapa = new ConcurrentHashMap<>();
+        final long intervalo;   // ms para repor uma ficha
+        final long rajada;      // ms equivalentes ao balde cheio
+        final AtomicLong operacoes = new AtomicLong();
+
+        Baldes(int capacidade, long janelaMs) {
+            this.intervalo = Math.max(1, janelaMs / Math.max(1, capacidade));
+            this.rajada = intervalo * Math.max(1, capacidade);
+        }
+
+        /**
+         * Gasta uma ficha se houver (CAS). Devolve ≤ 0 se gastou; senão, ms até
+         * sobrar uma — e o balde não muda: tentativas barradas não estendem o bloqueio.
+         */
+        long tentar(String chave, long agora) {
+            if (chave == null) return 0;
+            AtomicLong cheioEm = mapa.computeIfAbsent(chave, k -> new AtomicLong(agora));
+            while (true) {
+                long atual = cheioEm.get();
+                // fichas usadas = (cheioEm - agora) / intervalo; bloqueia quando todas foram usadas
+                long novo = Math.max(atual, agora) + intervalo;
+                if (novo - agora > rajada) return novo - agora - rajada;
+                if (cheioEm.compareAndSet(atual, novo)) break;
+            }
+            if (operacoes.incrementAndGet() % VARRER_A_CADA == 0) varrer(agora);
+            return 0;
+        }
+
+        /** Devolve uma ficha gasta por tentar() */
+        void devolver(String chave) {
+            if (chave == null) return;
+            AtomicLong cheioEm = mapa.get(chave);
+            if (cheioEm != null) cheioEm.addAndGet(-intervalo);
+        }
+
+        /** Remove baldes que já voltaram a ficar cheios */
+        void varrer(long agora) {
+            mapa.forEach((k, v) -> {
+                if (v.get() <= agora) mapa.remove(k, v);
+            });
+        }
+    }
+}
@@ -0,0 +1,103 @@
+// src/main/java/com/example/demo/Security/RevogacaoTokens.java
+package com.example.demo.Security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Tokens de acesso revogados (logout), pelo jti, até o exp de cada um.
+ *
+ * Na frente do conjunto exato (jti → exp) fica um filtro de Bloom em
+ * memória: quase toda requisição traz um token não revogado, e o Bloom
+ * responde "não está" com k leituras de bits, sem hash map nem banco.
+ * Só um "talvez" consulta o conjunto exato.
+ *
+ * Bloom não remove; quando jtis expiram, o filtro é remontado a partir
+ * do conjunto exato (no máximo uma vez por minuto, a partir de revogar()).
+ */
+@Component
+public class RevogacaoTokens {
+
+    private static final int BITS = 1 << 20;        // 128 KB; ~1% de falso positivo até ~100 mil jtis
+    private static final int HASHES = 7;
+    private static final long REMONTAR_A_CADA_MS = 60_000;
+
+    private final ConcurrentHashMap<String, Long> revogados = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray bloom = new AtomicLongArray(BITS / 64);
+    private volatile long ultimaLimpeza = System.currentTimeMillis();
+
+    /** Revoga o jti até expiraEm (ms); depois disso o próprio exp já barra o token */
+    public void revogar(String jti, long expiraEm) {
+        if (jti == null) return;
+        long agora = System.currentTimeMillis();
+        if (expiraEm <= agora) return;
+        revogados.put(jti, expiraEm);
+        marcar(bloom, jti);
+        if (agora - ultimaLimpeza > REMONTAR_A_CADA_MS) limpar(agora);
+    }
+
+    public boolean revogado(String jti) {
+        if (jti == null) return false;
+        if (!talvez(bloom, jti)) return false;
+        Long exp = revogados.get(jti);
+        return exp != null && exp > System.currentTimeMillis();
+    }
+
+    public int tamanho() {
+        return revogados.size();
+    }
+
+    /** Tira os expirados e remonta o Bloom só com os vivos */
+    private synchronized void limpar(long agora) {
+        if (agora - ultimaLimpeza <= REMONTAR_A_CADA_MS) return;
+        ultimaLimpeza = agora;
+        revogados.values().removeIf(exp -> exp <= agora);
+        AtomicLongArray novo = new AtomicLongArray(BITS / 64);
+        revogados.keySet().forEach(jti -> marcar(novo, jti));
+        // revogações que chegarem durante a troca marcam o antigo e o novo
+        bloom = novo;
+        revogados.keySet().forEach(jti -> marcar(novo, jti));
+    }
+
+    // ========= BLOOM =========
+
+    private static void marcar(AtomicLongArray bits, String jti) {
+        long h = hash(jti);
+        int h1 = (int) h, h2 = (int) (h >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & (BITS - 1);
+            int palavra = bit >>> 6;
+            long mascara = 1L << (bit & 63);
+            long atual;
+            do {
+                atual = bits.get(palavra);
+                if ((atual & mascara) != 0) break;
+            } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    private static boolean talvez(AtomicLongArray bits, String jti) {
+        long h = hash(jti);
+        int h1 = (int) h, h2 = (int) (h >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & (BITS - 1);
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) return false;
+        }
+        return true;
+    }
+
+    /** FNV-1a 64 bits + finalizador do SplitMix64 */
+    private static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,16 @@
+// src/main/java/com/example/demo/Security/SenhaIndisponivelException.java
+package com.example.demo.Security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** Pool de BCrypt cheio: o cliente deve tentar de novo em instantes */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Servidor ocupado, tente novamente em instantes")
+public class SenhaIndisponivelException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SenhaIndisponivelException() {
+        super("Pool de senhas cheio");
+    }
+}
@@ -0,0 +1,118 @@
+// src/main/java/com/example/demo/Security/SenhaService.java
+package com.example.demo.Security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * BCrypt fora das threads do Tomcat: hash e verificação rodam num pool
+ * próprio, com número fixo de threads e fila limitada. Quando a fila
+ * enche (rajada de logins, credential stuffing) a chamada falha na hora
+ * com SenhaIndisponivelException (503), em vez de prender todos os
+ * workers HTTP e travar a navegação pública.
+ */
+@Service
+public class SenhaService {
+
+    /** Contadores do pool (GET /admin/senhas/metricas) */
+    public record Metricas(
+            int threads,
+            int capacidadeFila,
+            int naFila,
+            int executando,
+            long hashes,
+            long verificacoes,
+            long rejeitadas,
+            double tempoMedioMs,
+            double tempoMaximoMs) {}
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final int capacidadeFila;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder verificacoes = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+    private final LongAdder nanosTotal = new LongAdder();
+    private final AtomicLong nanosMaximo = new AtomicLong();
+
+    public SenhaService(
+            PasswordEncoder encoder,
+            @Value("${api.security.bcrypt.threads:0}") int threads,
+            @Value("${api.security.bcrypt.fila:64}") int capacidadeFila) {
+        this.encoder = encoder;
+        this.capacidadeFila = capacidadeFila;
+        // padrão: um por núcleo — BCrypt é só CPU
+        int n = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Hash BCrypt da senha, calculado no pool */
+    public CompletableFuture<String> hash(String senha) {
+        return executar(() -> encoder.encode(senha), hashes);
+    }
+
+    /** Confere a senha contra um hash BCrypt, no pool */
+    public CompletableFuture<Boolean> confere(String senha, String hash) {
+        return executar(() -> senha != null && encoder.matches(senha, hash), verificacoes);
+    }
+
+    public Metricas metricas() {
+        long total = hashes.sum() + verificacoes.sum();
+        return new Metricas(
+                pool.getMaximumPoolSize(),
+                capacidadeFila,
+                pool.getQueue().size(),
+                pool.getActiveCount(),
+                hashes.sum(),
+                verificacoes.sum(),
+                rejeitadas.sum(),
+                total == 0 ? 0.0 : nanosTotal.sum() / 1e6 / total,
+                nanosMaximo.get() / 1e6);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    private <T> CompletableFuture<T> executar(Supplier<T> tarefa, LongAdder contador) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long ini = System.nanoTime();
+                try {
+                    return tarefa.get();
+                } finally {
+                    long dur = System.nanoTime() - ini;
+                    contador.increment();
+                    nanosTotal.add(dur);
+                    nanosMaximo.accumulateAndGet(dur, Math::max);
+                }
+            }, pool);
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            throw new SenhaIndisponivelException();
+        }
+    }
+}
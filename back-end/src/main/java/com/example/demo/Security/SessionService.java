@@ -1,25 +1,373 @@
 // src/main/java/com/example/demo/security/SessionService.java
 package com.example.demo.Security;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Sessões opacas (token → id do usuário) com limite de memória:
+ *
+ *  - TTL absoluto (desde a criação) e TTL ocioso (desde o último uso);
+ *  - expiração por roda de tempo hierárquica (4 níveis × 64 posições,
+ *    tick de 1 s): cada tick só olha a posição atual, nunca o mapa inteiro;
+ *  - teto de entradas com despejo LRU (LinkedHashMap em ordem de acesso);
+ *  - snapshot opcional em arquivo append-only (C = criada, D = removida),
+ *    relido na subida e compactado quando cresce demais.
+ *
+ * O token nunca é guardado: a chave (e o que vai para o arquivo) é a SHA-256 dele.
+ *
+ * Sessão removida antes do prazo (logout, rotação, LRU) deixa a entrada na roda
+ * marcada como morta; quando as mortas passam das vivas a roda é varrida, então
+ * o tamanho dela acompanha a capacidade e não a rotatividade.
+ */
 @Service
 public class SessionService {
-  private final Map<String, Integer> sessions = new ConcurrentHashMap<>();
 
-  public String create(Integer userId) {
-    String token = UUID.randomUUID().toString();
-    sessions.put(token, userId);
-    return token;
-  }
+    private static final Logger log = LoggerFactory.getLogger(SessionService.class);
+
+    private static final long TICK_MS = 1000;
+    private static final int BITS = 6;
+    private static final int POSICOES = 1 << BITS;   // 64
+    private static final int NIVEIS = 4;             // alcance: 64^4 s ≈ 194 dias
+    private static final long ALCANCE = 1L << (BITS * NIVEIS);
+
+    /** Contadores expostos para monitoração */
+    public record Metricas(
+            int tamanho,
+            int capacidade,
+            long criadas,
+            long removidas,
+            long expiradasAbsoluto,
+            long expiradasOcioso,
+            long despejadasLru) {}
+
+    private static final class Sessao {
+        final String chave;
+        final Integer userId;
+        final long criadaEm;
+        long ultimoAcesso;
+        boolean removida; // a entrada dela na roda, se houver, está morta
+
+        Sessao(String chave, Integer userId, long criadaEm, long ultimoAcesso) {
+            this.chave = chave;
+            this.userId = userId;
+            this.criadaEm = criadaEm;
+            this.ultimoAcesso = ultimoAcesso;
+        }
+    }
+
+    private record Agendada(Sessao sessao, long prazoTick) {}
+
+    private final long ttlAbsolutoMs;
+    private final long ttlOciosoMs;
+    private final int capacidade;
+    private final String caminhoSnapshot;
+
+    private final Map<String, Sessao> sessoes;
+
+    // roda[nivel][posicao]
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Agendada>[][] roda = new ArrayDeque[NIVEIS][POSICOES];
+    private long tickAtual;
+
+    private BufferedWriter snapshot;
+    private long linhasNoLog = 0;
+
+    private long criadas, removidas, expiradasAbsoluto, expiradasOcioso, despejadasLru;
+
+    // entradas na roda cujas sessões já saíram do mapa
+    private int mortasNaRoda = 0;
+
+    private final LongSupplier relogio;
+
+    @Autowired
+    public SessionService(
+            @Value("${api.session.ttl-absoluto-ms:43200000}") long ttlAbsolutoMs,   // 12h
+            @Value("${api.session.ttl-ocioso-ms:1800000}") long ttlOciosoMs,        // 30min
+            @Value("${api.session.capacidade:100000}") int capacidade,
+            @Value("${api.session.snapshot:}") String caminhoSnapshot) {
+        this(ttlAbsolutoMs, ttlOciosoMs, capacidade, caminhoSnapshot, System::currentTimeMillis);
+    }
+
+    /** Relógio injetável (ms) para os testes */
+    SessionService(long ttlAbsolutoMs, long ttlOciosoMs, int capacidade, String caminhoSnapshot,
+            LongSupplier relogio) {
+        this.relogio = relogio;
+        this.ttlAbsolutoMs = ttlAbsolutoMs;
+        this.ttlOciosoMs = ttlOciosoMs;
+        this.capacidade = capacidade;
+        this.caminhoSnapshot = caminhoSnapshot;
+        this.sessoes = new LinkedHashMap<>(Math.min(capacidade, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Sessao> maisAntiga) {
+                if (size() <= SessionService.this.capacidade) return false;
+                // remove aqui (e devolve false) para o mapa já estar sem ela se o registrar compactar
+                remove(maisAntiga.getKey());
+                descartar(maisAntiga.getValue());
+                despejadasLru++;
+                registrar("D " + maisAntiga.getKey());
+                return false;
+            }
+        };
+        for (int n = 0; n < NIVEIS; n++) {
+            for (int p = 0; p < POSICOES; p++) roda[n][p] = new ArrayDeque<>();
+        }
+        this.tickAtual = relogio.getAsLong() / TICK_MS;
+    }
+
+    // ========= API =========
+
+    public synchronized String create(Integer userId) {
+        long agora = relogio.getAsLong();
+        avancar(agora);
+
+        String token = UUID.randomUUID().toString();
+        Sessao s = new Sessao(chave(token), userId, agora, agora);
+        // primeiro no mapa: se a linha do log disparar a compactação, a sessão já vai junto
+        sessoes.put(s.chave, s);
+        agendar(s, prazo(s) / TICK_MS);
+        registrar("C " + s.chave + " " + userId + " " + agora);
+        criadas++;
+        return token;
+    }
+
+    public synchronized Integer getUserId(String token) {
+        if (token == null) return null;
+        long agora = relogio.getAsLong();
+        avancar(agora);
+
+        String chave = chave(token);
+        Sessao s = sessoes.get(chave);
+        if (s == null) return null;
+        // a roda tem resolução de 1 s: confere o prazo exato aqui
+        if (prazo(s) <= agora) {
+            expirar(s);
+            descartar(s);
+            return null;
+        }
+        s.ultimoAcesso = agora;
+        return s.userId;
+    }
+
+    /**
+     * Resgata o token uma única vez: devolve o id do usuário e remove a sessão
+     * sob o mesmo lock (dois pedidos com o mesmo token não levam os dois).
+     */
+    public synchronized Integer consumir(String token) {
+        Integer userId = getUserId(token);
+        if (userId != null) delete(token);
+        return userId;
+    }
+
+    public synchronized void delete(String token) {
+        if (token == null) return;
+        String chave = chave(token);
+        Sessao s = sessoes.remove(chave);
+        if (s != null) {
+            descartar(s);
+            removidas++;
+            registrar("D " + chave);
+        }
+    }
+
+    public synchronized Metricas metricas() {
+        avancar(relogio.getAsLong());
+        return new Metricas(sessoes.size(), capacidade, criadas, removidas,
+                expiradasAbsoluto, expiradasOcioso, despejadasLru);
+    }
+
+    // ========= RODA DE TEMPO =========
+
+    private long prazo(Sessao s) {
+        return Math.min(s.criadaEm + ttlAbsolutoMs, s.ultimoAcesso + ttlOciosoMs);
+    }
+
+    private void agendar(Sessao s, long prazoTick) {
+        if (prazoTick <= tickAtual) prazoTick = tickAtual + 1;
+        if (prazoTick - tickAtual >= ALCANCE) prazoTick = tickAtual + ALCANCE - 1; // reagendada quando chegar lá
+        long delta = prazoTick - tickAtual;
+
+        int nivel = 0;
+        while (nivel < NIVEIS - 1 && delta >= 1L << (BITS * (nivel + 1))) nivel++;
+        int pos = (int) ((prazoTick >>> (BITS * nivel)) & (POSICOES - 1));
+        roda[nivel][pos].add(new Agendada(s, prazoTick));
+    }
+
+    /** Processa os ticks até agora */
+    private void avancar(long agora) {
+        long alvo = agora / TICK_MS;
+        while (tickAtual < alvo) {
+            tickAtual++;
+            // desce primeiro os níveis altos, para o que cair no nível 0 ser visto neste tick
+            for (int nivel = NIVEIS - 1; nivel >= 1; nivel--) {
+                if ((tickAtual & ((1L << (BITS * nivel)) - 1)) != 0) continue;
+                int pos = (int) ((tickAtual >>> (BITS * nivel)) & (POSICOES - 1));
+                for (Agendada a : esvaziar(nivel, pos)) {
+                    if (viva(a)) agendar(a.sessao(), a.prazoTick());
+                }
+            }
+            for (Agendada a : esvaziar(0, (int) (tickAtual & (POSICOES - 1)))) {
+                if (!viva(a)) continue; // já removida/despejada
+                Sessao s = a.sessao();
+                long p = prazo(s);
+                if (p <= agora) expirar(s);
+                else agendar(s, p / TICK_MS); // foi usada desde o agendamento
+            }
+        }
+    }
+
+    private ArrayDeque<Agendada> esvaziar(int nivel, int pos) {
+        ArrayDeque<Agendada> r = roda[nivel][pos];
+        if (r.isEmpty()) return r;
+        roda[nivel][pos] = new ArrayDeque<>();
+        return r;
+    }
+
+    /** Entrada tirada da roda: se a sessão já tinha saído, era uma morta a menos */
+    private boolean viva(Agendada a) {
+        if (!a.sessao().removida) return true;
+        mortasNaRoda--;
+        return false;
+    }
+
+    /** A sessão saiu do mapa mas a entrada dela continua na roda */
+    private void descartar(Sessao s) {
+        s.removida = true;
+        if (++mortasNaRoda > sessoes.size() + POSICOES) varrerRoda();
+    }
+
+    /** Tira as entradas mortas de todas as posições */
+    private void varrerRoda() {
+        for (ArrayDeque<Agendada>[] nivel : roda) {
+            for (ArrayDeque<Agendada> posicao : nivel) posicao.removeIf(a -> a.sessao().removida);
+        }
+        mortasNaRoda = 0;
+    }
+
+    /** Total de entradas na roda (vivas + mortas); para os testes */
+    synchronized int entradasNaRoda() {
+        int total = 0;
+        for (ArrayDeque<Agendada>[] nivel : roda) {
+            for (ArrayDeque<Agendada> posicao : nivel) total += posicao.size();
+        }
+        return total;
+    }
+
+    private void expirar(Sessao s) {
+        sessoes.remove(s.chave);
+        if (s.criadaEm + ttlAbsolutoMs <= s.ultimoAcesso + ttlOciosoMs) expiradasAbsoluto++;
+        else expiradasOcioso++;
+        registrar("D " + s.chave);
+    }
+
+    // ========= SNAPSHOT =========
+
+    @PostConstruct
+    public synchronized void carregar() {
+        if (caminhoSnapshot == null || caminhoSnapshot.isBlank()) return;
+        Path arquivo = Path.of(caminhoSnapshot);
+        long agora = relogio.getAsLong();
+
+        if (Files.exists(arquivo)) {
+            try (BufferedReader in = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                String linha;
+                while ((linha = in.readLine()) != null) {
+                    String[] p = linha.split(" ");
+                    if (p.length == 4 && p[0].equals("C")) {
+                        long criadaEm = Long.parseLong(p[3]);
+                        if (criadaEm + ttlAbsolutoMs <= agora) continue;
+                        // o último acesso não vai para o arquivo: conta a partir da subida
+                        Sessao s = new Sessao(p[1], Integer.valueOf(p[2]), criadaEm, agora);
+                        sessoes.put(s.chave, s);
+                    } else if (p.length == 2 && p[0].equals("D")) {
+                        sessoes.remove(p[1]);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("[SessionService] Snapshot {} ilegível, ignorando o resto: {}", arquivo, e.getMessage());
+            }
+        }
+        sessoes.values().forEach(s -> agendar(s, prazo(s) / TICK_MS));
+        compactar();
+        log.info("[SessionService] {} sessões restauradas de {}", sessoes.size(), arquivo);
+    }
+
+    @PreDestroy
+    public synchronized void fechar() {
+        if (snapshot == null) return;
+        try {
+            snapshot.close();
+        } catch (IOException e) {
+            log.warn("[SessionService] Erro ao fechar snapshot: {}", e.getMessage());
+        }
+        snapshot = null;
+    }
+
+    private void registrar(String linha) {
+        if (snapshot == null) return;
+        try {
+            snapshot.write(linha);
+            snapshot.newLine();
+            snapshot.flush();
+            // muito mais linhas que sessões vivas: reescreve só as vivas
+            if (++linhasNoLog > 2L * sessoes.size() + 1024) compactar();
+        } catch (IOException e) {
+            log.warn("[SessionService] Falha ao gravar snapshot, desligando: {}", e.getMessage());
+            fechar();
+        }
+    }
 
-  public Integer getUserId(String token) {
-    return token == null ? null : sessions.get(token);
-  }
+    /** Reescreve o arquivo só com as sessões vivas (temp + move atômico) */
+    private void compactar() {
+        Path arquivo = Path.of(caminhoSnapshot);
+        Path temp = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try {
+            if (snapshot != null) snapshot.close();
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Sessao s : sessoes.values()) {
+                    out.write("C " + s.chave + " " + s.userId + " " + s.criadaEm);
+                    out.newLine();
+                }
+            }
+            Files.move(temp, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            snapshot = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            linhasNoLog = sessoes.size();
+        } catch (IOException e) {
+            log.warn("[SessionService] Falha ao compactar snapshot, desligando: {}", e.getMessage());
+            snapshot = null;
+        }
+    }
 
-  public void delete(String token) {
-    if (token != null) sessions.remove(token);
-  }
+    private static String chave(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
 }
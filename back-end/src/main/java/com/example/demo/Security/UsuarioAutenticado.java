@@ -0,0 +1,31 @@
+// src/main/java/com/example/demo/Security/UsuarioAutenticado.java
+package com.example.demo.Security;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Principal colocado no SecurityContext pelo JwtAuthFilter, montado só
+ * com as claims do token (uid, sub, role, name) — sem ir ao banco.
+ *
+ * getName() devolve o e-mail, então authentication.getName() continua
+ * funcionando como antes.
+ */
+public record UsuarioAutenticado(Integer id, String email, String nome, String role)
+        implements Principal, Serializable {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /** ROLE_CORRETOR, ROLE_ADMIN, ... (vazio se o token não tiver role) */
+    public List<GrantedAuthority> authorities() {
+        if (role == null || role.isBlank()) return List.of();
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
+    }
+}
@@ -1,13 +1,14 @@
 package com.example.demo.Services;
 
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.Cache.CacheReferencia;
+import com.example.demo.Cache.EstatisticasCache;
 import com.example.demo.Models.BairroModel;
 import com.example.demo.Repositories.BairroRepository;
 
@@ -17,11 +18,18 @@ public class BairroService {
 
     @Autowired
     private BairroRepository repository;
-        
+
+    private static final int CAPACIDADE_CACHE = 1024;
+
+    // muda poucas vezes por ano: lista em snapshot imutável + lookup por id em LRU
+    private final CacheReferencia<BairroModel> cache = new CacheReferencia<>(
+            "bairros", CAPACIDADE_CACHE,
+            () -> repository.findAll(), id -> repository.findById(id), BairroModel::getId);
+
+    /** Lista completa (imutável, servida do cache) */
     public List<BairroModel> getAll() {
-        List<BairroModel> list = repository.findAll();
-        return list;
-    } 
+        return cache.todos();
+    }
 
     public Page<BairroModel> getAll(Pageable pageable) {
         Page<BairroModel> list = repository.findAll(pageable);
@@ -29,18 +37,21 @@ public class BairroService {
     }
 
     public BairroModel find(Integer id) {
-        Optional<BairroModel> model = repository.findById(id);
-        return model.orElse(null);
+        return cache.porId(id);
     }
 
     public BairroModel insert(BairroModel model) {
-        return repository.save(model);
+        BairroModel salvo = repository.save(model);
+        cache.gravado(salvo);
+        return salvo;
     }
  
     public BairroModel update(BairroModel model) {
         try {
             if(find(model.getId())!=null){
-                return repository.save(model);
+                BairroModel salvo = repository.save(model);
+                cache.gravado(salvo);
+                return salvo;
             }
             return null;
         } catch (Exception e) {
@@ -51,6 +62,11 @@ public class BairroService {
 
     public void delete(Integer id) {
         repository.deleteById(id);
+        cache.removido(id);
+    }
+
+    public List<EstatisticasCache> estatisticasCache() {
+        return cache.estatisticas();
     }
 
 }
@@ -0,0 +1,194 @@
+// src/main/java/com/example/demo/Services/DerivadosFotoService.java
+package com.example.demo.Services;
+
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.Models.StatusDerivados;
+import com.example.demo.Repositories.FotoImovelRepository;
+import com.example.demo.Storage.ArmazenamentoFotos;
+import com.example.demo.Storage.ProcessadorImagem;
+import com.example.demo.Storage.TamanhoFoto;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Gera as versões card/galeria/completa de cada foto (JPEG progressivo)
+ * em segundo plano, num pool próprio com threads e fila limitadas — o
+ * upload responde sem esperar o processamento.
+ *
+ * O trabalho é por hash de conteúdo: fotos iguais geram uma vez só.
+ * Fila cheia não é erro: a foto fica PENDENTE e é reprocessada quando o
+ * pool esvazia ou na próxima subida.
+ */
+@Service
+public class DerivadosFotoService {
+
+    private static final Logger log = LoggerFactory.getLogger(DerivadosFotoService.class);
+
+    /** Contadores do pool (GET /fotos/derivados/metricas) */
+    public record Metricas(
+            int threads,
+            int capacidadeFila,
+            int naFila,
+            int executando,
+            long geradas,
+            long falhas,
+            long rejeitadas,
+            double tempoMedioMs) {}
+
+    private final FotoImovelRepository repository;
+    private final ArmazenamentoFotos armazenamento;
+    private final ThreadPoolExecutor pool;
+    private final int capacidadeFila;
+
+    // hashes na fila ou em processamento (não enfileira duas vezes o mesmo)
+    private final Set<String> emAndamento = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean haRejeitadas = new AtomicBoolean();
+
+    private final LongAdder geradas = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+    private final LongAdder nanosTotal = new LongAdder();
+
+    public DerivadosFotoService(
+            FotoImovelRepository repository,
+            ArmazenamentoFotos armazenamento,
+            @Value("${api.fotos.derivados.threads:2}") int threads,
+            @Value("${api.fotos.derivados.fila:256}") int capacidadeFila) {
+        this.repository = repository;
+        this.armazenamento = armazenamento;
+        this.capacidadeFila = capacidadeFila;
+        // poucas threads: cada decodificação segura um bitmap de até ~2048 px
+        int n = Math.max(1, threads);
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                r -> {
+                    Thread t = new Thread(r, "derivados-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.NORM_PRIORITY - 1);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Todos os derivados desse conteúdo já existem no armazenamento? */
+    public boolean prontos(String hash) {
+        for (TamanhoFoto t : TamanhoFoto.values()) {
+            if (!armazenamento.existeDerivado(hash, t)) return false;
+        }
+        return true;
+    }
+
+    /** Enfileira a geração; false se a fila estiver cheia (fica PENDENTE) */
+    public boolean agendar(String hash) {
+        if (!emAndamento.add(hash)) return true;
+        try {
+            pool.execute(() -> {
+                try {
+                    gerar(hash);
+                } finally {
+                    emAndamento.remove(hash);
+                    retomarRejeitadas();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            emAndamento.remove(hash);
+            rejeitadas.increment();
+            haRejeitadas.set(true);
+            return false;
+        }
+    }
+
+    /** Na subida: o que ficou PENDENTE (fila cheia, restart no meio) volta para a fila */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reprocessarPendentes() {
+        List<String> pendentes = repository.hashesComDerivados(StatusDerivados.PENDENTE);
+        for (String hash : pendentes) {
+            if (!agendar(hash)) break;
+        }
+        if (!pendentes.isEmpty()) {
+            log.info("[DerivadosFotoService] {} conteúdos com derivados pendentes reenfileirados", pendentes.size());
+        }
+    }
+
+    public Metricas metricas() {
+        long total = geradas.sum();
+        return new Metricas(
+                pool.getMaximumPoolSize(),
+                capacidadeFila,
+                pool.getQueue().size(),
+                pool.getActiveCount(),
+                total,
+                falhas.sum(),
+                rejeitadas.sum(),
+                total == 0 ? 0.0 : nanosTotal.sum() / 1e6 / total);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdownNow();
+    }
+
+    // ========= INTERNOS =========
+
+    private void gerar(String hash) {
+        long ini = System.nanoTime();
+        try {
+            if (!prontos(hash)) {
+                BufferedImage base;
+                try (InputStream in = armazenamento.abrir(hash)) {
+                    base = ProcessadorImagem.ler(in, TamanhoFoto.maiorDeTodos());
+                }
+                // do maior para o menor: cada versão sai da anterior, já reduzida
+                TamanhoFoto[] tamanhos = TamanhoFoto.values();
+                BufferedImage anterior = base;
+                for (int i = tamanhos.length - 1; i >= 0; i--) {
+                    anterior = ProcessadorImagem.reduzir(anterior, tamanhos[i].maiorLado());
+                    armazenamento.gravarDerivado(hash, tamanhos[i], ProcessadorImagem.jpegProgressivo(anterior));
+                }
+            }
+            repository.atualizarDerivados(hash, StatusDerivados.PRONTO);
+            geradas.increment();
+            nanosTotal.add(System.nanoTime() - ini);
+        } catch (Exception e) {
+            falhas.increment();
+            log.warn("[DerivadosFotoService] Falha ao gerar derivados de {}: {}", hash, e.getMessage());
+            try {
+                repository.atualizarDerivados(hash, StatusDerivados.FALHOU);
+            } catch (RuntimeException ignorada) {
+                // banco fora: continua PENDENTE e volta na próxima subida
+            }
+        }
+    }
+
+    /** Houve rejeição por fila cheia e a fila esvaziou: busca as pendentes de novo */
+    private void retomarRejeitadas() {
+        if (pool.getQueue().isEmpty() && haRejeitadas.compareAndSet(true, false)) {
+            try {
+                reprocessarPendentes();
+            } catch (RuntimeException e) {
+                haRejeitadas.set(true);
+            }
+        }
+    }
+}
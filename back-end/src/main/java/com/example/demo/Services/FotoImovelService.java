@@ -1,23 +1,112 @@
 package com.example.demo.Services;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import com.example.demo.Models.FotoImovelModel;
+import com.example.demo.Models.StatusDerivados;
 import com.example.demo.Repositories.FotoImovelRepository;
+import com.example.demo.Repositories.ImovelRepository;
+import com.example.demo.Security.UsuarioAutenticado;
+import com.example.demo.Storage.ArmazenamentoFotos;
+import com.example.demo.Storage.ArquivoArmazenado;
+import com.example.demo.Storage.TamanhoFoto;
+import com.example.demo.dtos.CapaImovelDTO;
 import com.example.demo.dtos.FotoImovelDTO;
+import com.example.demo.dtos.FotoLoteDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 @Service
 public class FotoImovelService {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(FotoImovelService.class);
+
+    // ids por IN (...): listagem completa pode ter milhares de imóveis
+    private static final int BLOCO_IN = 1000;
+
+    private static final Comparator<CapaImovelDTO> ORDEM_CAPA = Comparator
+            .comparing(CapaImovelDTO::ordem, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CapaImovelDTO::fotoId);
 
     @Autowired
     private FotoImovelRepository repository;
+
+    @Autowired
+    private ImovelRepository imovelRepository;
+
+    @Autowired
+    private ArmazenamentoFotos armazenamento;
+
+    @Autowired
+    private DerivadosFotoService derivados;
+
+    // uploads em lote: arquivos gravados em paralelo; fila cheia → a própria thread da requisição grava
+    @Value("${api.fotos.upload.threads:4}")
+    private int threadsUpload;
+
+    private ThreadPoolExecutor uploadPool;
+
+    @PostConstruct
+    void iniciarPool() {
+        int n = Math.max(1, threadsUpload);
+        AtomicInteger seq = new AtomicInteger();
+        uploadPool = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(n * 16),
+                r -> {
+                    Thread t = new Thread(r, "upload-fotos-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void encerrarPool() {
+        uploadPool.shutdown();
+    }
+
+    /**
+     * O que servir para uma foto: um derivado JPEG, ou o original quando
+     * pedido explicitamente ou quando os derivados ainda não existem.
+     */
+    public record ArquivoFoto(String hash, TamanhoFoto tamanho, String mime) {
+        public boolean original() {
+            return tamanho == null;
+        }
+
+        /** ETag forte: o conteúdo é endereçado pelo hash, então nunca muda */
+        public String etag() {
+            return '"' + (original() ? hash : hash + "-" + tamanho.variante()) + '"';
+        }
+    }
         
     public List<FotoImovelModel> getAll() {
         List<FotoImovelModel> list = repository.findAll();
@@ -34,6 +123,49 @@ public class FotoImovelService {
         return model.orElse(null);
     }
 
+    public boolean imovelExiste(Integer imovelId) {
+        return imovelId != null && imovelRepository.existsById(imovelId);
+    }
+
+    /** Fotos de um imóvel só entram pelo dono dele ou por um ADMIN */
+    public boolean podeEnviarFotos(Integer imovelId, UsuarioAutenticado usuario) {
+        if (usuario == null || imovelId == null) return false;
+        if ("ADMIN".equalsIgnoreCase(usuario.role())) return true;
+        return usuario.id() != null && imovelRepository.existsByIdAndUsuarioId(imovelId, usuario.id());
+    }
+
+    /** Fotos do imóvel na ordem da galeria */
+    public List<FotoImovelModel> listarPorImovel(Integer imovelId) {
+        return repository.findByImovelIdOrderByOrdemAscIdAsc(imovelId);
+    }
+
+    /**
+     * URL da capa (tamanho card) de cada imóvel da lista, com uma consulta
+     * por bloco de ids. Entre várias fotos marcadas como capa vale a de
+     * menor ordem. Imóvel sem capa fica fora do mapa.
+     */
+    public Map<Integer, String> capas(Collection<Integer> imovelIds) {
+        if (imovelIds.isEmpty()) return Map.of();
+        Map<Integer, CapaImovelDTO> escolhida = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(imovelIds);
+        for (int i = 0; i < ids.size(); i += BLOCO_IN) {
+            for (CapaImovelDTO c : repository.capasDosImoveis(ids.subList(i, Math.min(ids.size(), i + BLOCO_IN)))) {
+                escolhida.merge(c.imovelId(), c, (a, b) -> ORDEM_CAPA.compare(a, b) <= 0 ? a : b);
+            }
+        }
+        Map<Integer, String> r = new HashMap<>(escolhida.size() * 2);
+        escolhida.forEach((imovelId, c) -> r.put(imovelId,
+                // fotos antigas (sem hash) só têm o caminho gravado
+                c.hash() != null ? url(c.fotoId(), TamanhoFoto.CARD) : c.caminho()));
+        return r;
+    }
+
+    /** URL pública do arquivo da foto (null = tamanho padrão) */
+    public static String url(Integer fotoId, TamanhoFoto tamanho) {
+        String base = "/fotos/" + fotoId + "/arquivo";
+        return tamanho == null ? base : base + "?tamanho=" + tamanho.variante();
+    }
+
     public FotoImovelModel insert(FotoImovelDTO dto){
         FotoImovelModel model = new FotoImovelModel(null, null, null, null, null);
         model.setNomeArquivo(dto.getNomeArquivo());
@@ -42,6 +174,170 @@ public class FotoImovelService {
         model.setOrdem(dto.getOrdem());
         return repository.save(model);
     }
+
+    /**
+     * Upload: grava o conteúdo no ArmazenamentoFotos (streaming + SHA-256,
+     * deduplicado pelo hash) e cria a foto ligada ao imóvel.
+     * Imóvel inexistente → NoSuchElementException; arquivo que não é
+     * imagem → IllegalArgumentException.
+     */
+    public FotoImovelModel salvarArquivo(FotoImovelDTO dto, String nomeOriginal, InputStream conteudo)
+            throws IOException {
+        Integer imovelId = dto.getImovel_id();
+        if (imovelId == null || !imovelRepository.existsById(imovelId)) {
+            throw new NoSuchElementException("Imóvel não encontrado: " + imovelId);
+        }
+
+        ArquivoArmazenado arquivo = armazenamento.gravar(conteudo);
+
+        FotoImovelModel model;
+        FotoImovelModel salvo;
+        try {
+            model = novaFoto(arquivo, nomeOriginal, dto.getCapa(), dto.getOrdem(), imovelId);
+            salvo = repository.save(model);
+        } catch (RuntimeException e) {
+            // conteúdo acabou de entrar e nenhuma foto aponta para ele: não deixa órfão
+            liberarNovos(List.of(arquivo));
+            throw e;
+        }
+        // a foto já está gravada: o conteúdo agora está protegido pela contagem no banco
+        armazenamento.soltar(arquivo.hash());
+        // em segundo plano; com a fila cheia continua PENDENTE e é retomada depois
+        if (model.getDerivados() == StatusDerivados.PENDENTE) derivados.agendar(arquivo.hash());
+        return salvo;
+    }
+
+    /** Um arquivo do lote: nome original e como abrir o conteúdo (parte do multipart) */
+    public record ArquivoEnviado(String nome, Abridor conteudo) {}
+
+    @FunctionalInterface
+    public interface Abridor {
+        InputStream abrir() throws IOException;
+    }
+
+    /**
+     * Upload em lote para um imóvel: os arquivos vão para o armazenamento
+     * em paralelo (pool uploadPool) e as fotos entram numa transação só,
+     * com os INSERTs em batch JDBC (ids do gerador em tabela, sem IDENTITY).
+     *
+     * Tudo ou nada: se algum arquivo falhar (ex.: não é imagem), nenhuma
+     * foto é criada e os conteúdos novos deste lote são apagados.
+     */
+    public List<FotoImovelModel> salvarLote(FotoLoteDTO lote, List<ArquivoEnviado> arquivos) throws IOException {
+        Integer imovelId = lote.getImovel_id();
+        if (imovelId == null || !imovelRepository.existsById(imovelId)) {
+            throw new NoSuchElementException("Imóvel não encontrado: " + imovelId);
+        }
+
+        List<Future<ArquivoArmazenado>> envios = new ArrayList<>(arquivos.size());
+        for (ArquivoEnviado a : arquivos) {
+            envios.add(uploadPool.submit(() -> {
+                try (InputStream in = a.conteudo().abrir()) {
+                    return armazenamento.gravar(in);
+                }
+            }));
+        }
+
+        List<ArquivoArmazenado> gravados = new ArrayList<>(arquivos.size());
+        Exception erro = null;
+        String arquivoComErro = null;
+        for (int i = 0; i < envios.size(); i++) {
+            try {
+                gravados.add(envios.get(i).get());
+            } catch (ExecutionException e) {
+                if (erro == null) {
+                    erro = e.getCause() instanceof Exception c ? c : e;
+                    arquivoComErro = arquivos.get(i).nome();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (erro == null) erro = e;
+            }
+        }
+        if (erro != null) {
+            liberarNovos(gravados);
+            if (erro instanceof IllegalArgumentException) {
+                throw new IllegalArgumentException(arquivoComErro + ": " + erro.getMessage(), erro);
+            }
+            if (erro instanceof IOException io) throw io;
+            throw new IOException("Falha ao gravar " + arquivoComErro, erro);
+        }
+
+        List<FotoImovelDTO> metadados = lote.getFotos() != null ? lote.getFotos() : List.of();
+        List<FotoImovelModel> salvas;
+        try {
+            List<FotoImovelModel> fotos = new ArrayList<>(gravados.size());
+            for (int i = 0; i < gravados.size(); i++) {
+                FotoImovelDTO m = i < metadados.size() ? metadados.get(i) : null;
+                Boolean capa = m != null && m.getCapa() != null ? m.getCapa() : Boolean.FALSE;
+                Integer ordem = m != null && m.getOrdem() != null ? m.getOrdem() : i + 1;
+                fotos.add(novaFoto(gravados.get(i), arquivos.get(i).nome(), capa, ordem, imovelId));
+            }
+            // saveAll é uma transação; hibernate.jdbc.batch_size agrupa os INSERTs
+            salvas = repository.saveAll(fotos);
+        } catch (RuntimeException e) {
+            liberarNovos(gravados);
+            throw e;
+        }
+        for (ArquivoArmazenado a : gravados) armazenamento.soltar(a.hash());
+
+        Set<String> agendar = new LinkedHashSet<>();
+        for (FotoImovelModel f : salvas) {
+            if (f.getDerivados() == StatusDerivados.PENDENTE) agendar.add(f.getHash());
+        }
+        agendar.forEach(derivados::agendar);
+        return salvas;
+    }
+
+    private FotoImovelModel novaFoto(ArquivoArmazenado arquivo, String nome, Boolean capa, Integer ordem,
+                                     Integer imovelId) {
+        FotoImovelModel model = new FotoImovelModel(null, nome, arquivo.hash(), capa, ordem);
+        model.setHash(arquivo.hash());
+        model.setTamanho(arquivo.tamanho());
+        model.setMime(arquivo.mime());
+        // conteúdo repetido normalmente já tem os derivados prontos
+        boolean prontos = !arquivo.novo() && derivados.prontos(arquivo.hash());
+        model.setDerivados(prontos ? StatusDerivados.PRONTO : StatusDerivados.PENDENTE);
+        // referência (proxy) pelo id: o insert só precisa da FK
+        model.setImovel(imovelRepository.getReferenceById(imovelId));
+        return model;
+    }
+
+    /** Desiste dos arquivos gravados: solta as reservas e apaga os que este upload criou */
+    private void liberarNovos(List<ArquivoArmazenado> gravados) {
+        for (ArquivoArmazenado a : gravados) armazenamento.soltar(a.hash());
+        for (ArquivoArmazenado a : gravados) {
+            if (a.novo()) liberarArquivo(a.hash());
+        }
+    }
+
+    /**
+     * Qual arquivo servir para a foto no tamanho pedido (null = original).
+     * Sem derivados prontos, cai no original. Foto inexistente → null.
+     */
+    public ArquivoFoto arquivo(Integer id, TamanhoFoto tamanho) {
+        FotoImovelModel m = find(id);
+        if (m == null || m.getHash() == null) return null;
+        if (tamanho != null && m.getDerivados() == StatusDerivados.PRONTO) {
+            return new ArquivoFoto(m.getHash(), tamanho, "image/jpeg");
+        }
+        return new ArquivoFoto(m.getHash(), null, m.getMime());
+    }
+
+    public long tamanho(ArquivoFoto arquivo) throws IOException {
+        return armazenamento.tamanho(arquivo.hash(), arquivo.tamanho());
+    }
+
+    /** Caminho local para envio sem cópia; null se o armazenamento for remoto */
+    public Path arquivoLocal(ArquivoFoto arquivo) {
+        return armazenamento.arquivoLocal(arquivo.hash(), arquivo.tamanho());
+    }
+
+    public InputStream abrir(ArquivoFoto arquivo) throws IOException {
+        return arquivo.original()
+                ? armazenamento.abrir(arquivo.hash())
+                : armazenamento.abrirDerivado(arquivo.hash(), arquivo.tamanho());
+    }
  
     public FotoImovelModel update(FotoImovelModel model) {
         try {
@@ -56,7 +352,34 @@ public class FotoImovelService {
     }
 
     public void delete(Integer id) {
+        FotoImovelModel model = find(id);
         repository.deleteById(id);
+        if (model != null && model.getHash() != null) liberarArquivo(model.getHash());
+    }
+
+    /**
+     * Apaga o conteúdo quando a última foto que apontava para ele some. A contagem
+     * roda sob a trava do hash no armazenamento: um upload do mesmo conteúdo em
+     * andamento (reservado) ou já gravado impede a remoção.
+     */
+    private void liberarArquivo(String hash) {
+        try {
+            armazenamento.removerSeSemUso(hash, () -> repository.countByHash(hash) == 0);
+        } catch (IOException e) {
+            log.warn("[FotoImovelService] Falha ao apagar arquivo {}: {}", hash, e.getMessage());
+        }
+    }
+
+    /** Para o controller devolver sem serializar o proxy do imóvel */
+    public static FotoImovelDTO toDto(FotoImovelModel m) {
+        FotoImovelDTO dto = new FotoImovelDTO(m.getId(), m.getNomeArquivo(), m.getCaminho(), m.getCapa(), m.getOrdem(),
+                m.getImovel() != null ? m.getImovel().getId() : null);
+        dto.setHash(m.getHash());
+        dto.setTamanho(m.getTamanho());
+        dto.setMime(m.getMime());
+        dto.setDerivados(m.getDerivados() != null ? m.getDerivados().name() : null);
+        if (m.getHash() != null) dto.setUrl(url(m.getId(), null));
+        return dto;
     }
 
 }
@@ -0,0 +1,44 @@
+package com.example.demo.Services;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.Models.CepCoordenadaModel;
+import com.example.demo.Models.ImovelModel;
+import com.example.demo.Repositories.CepCoordenadaRepository;
+
+/**
+ * Resolve a coordenada de um CEP pela tabela offline cep_coordenadas
+ * (sem chamada a serviço externo no caminho da gravação).
+ */
+@Service
+public class GeoService {
+
+    @Autowired
+    private CepCoordenadaRepository repository;
+
+    public Optional<CepCoordenadaModel> resolver(String cep) {
+        String limpo = normalizarCep(cep);
+        if (limpo == null) return Optional.empty();
+
+        Optional<CepCoordenadaModel> exato = repository.findById(limpo);
+        if (exato.isPresent()) return exato;
+        return repository.findFirstByCepStartingWithOrderByCep(limpo.substring(0, 5));
+    }
+
+    /** Preenche latitude/longitude do imóvel a partir do CEP (limpa se não achar) */
+    public void preencherCoordenadas(ImovelModel imovel) {
+        Optional<CepCoordenadaModel> coord = resolver(imovel.getCep());
+        imovel.setLatitude(coord.map(CepCoordenadaModel::getLatitude).orElse(null));
+        imovel.setLongitude(coord.map(CepCoordenadaModel::getLongitude).orElse(null));
+    }
+
+    /** Só dígitos, 8 posições; null se não for um CEP válido */
+    static String normalizarCep(String cep) {
+        if (cep == null) return null;
+        String digitos = cep.replaceAll("\\D", "");
+        return digitos.length() == 8 ? digitos : null;
+    }
+}
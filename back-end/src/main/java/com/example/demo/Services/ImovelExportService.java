@@ -0,0 +1,150 @@
+// src/main/java/com/example/demo/Services/ImovelExportService.java
+package com.example.demo.Services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.Models.ImovelModel;
+import com.example.demo.Repositories.ImovelRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Exportação do catálogo inteiro (GET /imoveis/export) para os parceiros.
+ *
+ * As linhas vêm de um Stream do banco (cursor do MySQL, uma linha por vez)
+ * e cada entidade é escrita e desanexada do contexto de persistência na
+ * sequência, então o heap não cresce com o tamanho do catálogo.
+ */
+@Service
+public class ImovelExportService {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    // de quantas em quantas linhas empurrar o buffer para o cliente
+    private static final int LINHAS_POR_FLUSH = 500;
+
+    private static final String[] COLUNAS = {
+            "id", "titulo", "finalidade", "status", "precoVenda", "precoAluguel",
+            "dormitorios", "banheiros", "garagem", "areaTotal", "areaConstruida",
+            "endereco", "numero", "complemento", "cep", "cidade",
+            "bairroId", "bairro", "tipoImovelId", "tipoImovel", "usuarioId",
+            "destaque", "caracteristicas", "descricao"
+    };
+
+    @Autowired
+    private ImovelRepository repository;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static boolean formatoValido(String formato) {
+        return NDJSON.equalsIgnoreCase(formato) || CSV.equalsIgnoreCase(formato);
+    }
+
+    /** Escreve todo o catálogo em out; não fecha o stream */
+    @Transactional(readOnly = true)
+    public long exportar(String formato, OutputStream out) throws IOException {
+        boolean csv = CSV.equalsIgnoreCase(formato);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        if (csv) {
+            writer.write(String.join(",", COLUNAS));
+            writer.write("\r\n");
+        }
+
+        long[] linhas = {0};
+        try (Stream<ImovelModel> stream = repository.streamTodos()) {
+            stream.forEach(m -> {
+                try {
+                    Map<String, Object> linha = linha(m);
+                    if (csv) {
+                        escreverCsv(writer, linha);
+                    } else {
+                        writer.write(mapper.writeValueAsString(linha));
+                        writer.write('\n');
+                    }
+                    // a entidade já foi escrita: tira do contexto para o GC poder recolher
+                    entityManager.detach(m);
+                    if (++linhas[0] % LINHAS_POR_FLUSH == 0) writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        return linhas[0];
+    }
+
+    private static Map<String, Object> linha(ImovelModel m) {
+        Map<String, Object> r = new LinkedHashMap<>();
+        r.put("id", m.getId());
+        r.put("titulo", m.getTitulo());
+        r.put("finalidade", m.getFinalidade());
+        r.put("status", m.getStatus());
+        r.put("precoVenda", m.getPrecoVenda());
+        r.put("precoAluguel", m.getPrecoAluguel());
+        r.put("dormitorios", m.getDormitorios());
+        r.put("banheiros", m.getBanheiros());
+        r.put("garagem", m.getGaragem());
+        r.put("areaTotal", m.getAreaTotal());
+        r.put("areaConstruida", m.getAreaConstruida());
+        r.put("endereco", m.getEndereco());
+        r.put("numero", m.getNumero());
+        r.put("complemento", m.getComplemento());
+        r.put("cep", m.getCep());
+        r.put("cidade", m.getCidade());
+        r.put("bairroId", m.getBairro() != null ? m.getBairro().getId() : null);
+        r.put("bairro", m.getBairro() != null ? m.getBairro().getNome() : null);
+        r.put("tipoImovelId", m.getTipoImovel() != null ? m.getTipoImovel().getId() : null);
+        r.put("tipoImovel", m.getTipoImovel() != null ? m.getTipoImovel().getNome() : null);
+        // getId() no proxy LAZY não dispara consulta
+        r.put("usuarioId", m.getUsuario() != null ? m.getUsuario().getId() : null);
+        r.put("destaque", m.getDestaque());
+        r.put("caracteristicas", m.getCaracteristicas());
+        r.put("descricao", m.getDescricao());
+        return r;
+    }
+
+    private static void escreverCsv(Writer w, Map<String, Object> linha) throws IOException {
+        boolean primeiro = true;
+        for (String coluna : COLUNAS) {
+            if (!primeiro) w.write(',');
+            primeiro = false;
+            Object v = linha.get(coluna);
+            if (v == null) continue;
+            w.write(v instanceof BigDecimal d ? d.toPlainString() : csv(v.toString()));
+        }
+        w.write("\r\n");
+    }
+
+    /** Escapa conforme RFC 4180 (aspas quando há vírgula, aspas ou quebra de linha) */
+    private static String csv(String s) {
+        boolean precisa = s.indexOf(',') >= 0 || s.indexOf('"') >= 0
+                || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0;
+        if (!precisa) return s;
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
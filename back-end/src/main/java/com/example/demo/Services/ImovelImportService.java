@@ -0,0 +1,490 @@
+// src/main/java/com/example/demo/Services/ImovelImportService.java
+package com.example.demo.Services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Models.BairroModel;
+import com.example.demo.Models.CepCoordenadaModel;
+import com.example.demo.Models.ImovelModel;
+import com.example.demo.Models.TiposImoveisModel;
+import com.example.demo.Models.UserModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Importação em massa dos feeds dos parceiros (POST /imoveis/import),
+ * em CSV (mesmas colunas do /imoveis/export) ou NDJSON.
+ *
+ * O arquivo é lido registro a registro direto do corpo da requisição;
+ * bairro e tipo saem de mapas montados uma vez a partir do cache de
+ * referência e as coordenadas de cada CEP são buscadas uma vez só.
+ * As linhas válidas vão para o banco em lotes: uma transação por lote,
+ * INSERTs em batch JDBC do mesmo tamanho (o id vem do gerador em tabela,
+ * sem ida ao banco por linha). Linha inválida não derruba o arquivo:
+ * entra no relatório com o número da linha e o motivo.
+ */
+@Service
+public class ImovelImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImovelImportService.class);
+
+    public static final String NDJSON = ImovelExportService.NDJSON;
+    public static final String CSV = ImovelExportService.CSV;
+
+    // o relatório lista no máximo tantos erros; a contagem continua completa
+    private static final int MAX_ERROS_RELATORIO = 1000;
+
+    // abaixo disso os índices em memória são atualizados imóvel a imóvel; acima, reconstruídos
+    private static final int MAX_INDEXAR_UM_A_UM = 2000;
+
+    public record ErroLinha(long linha, String mensagem) {}
+
+    public record Relatorio(
+            long linhas,
+            long importados,
+            long rejeitados,
+            List<ErroLinha> erros,
+            boolean errosTruncados,
+            long ms,
+            long linhasPorSegundo) {}
+
+    /** Um registro do arquivo: campos por nome (vazios ficam de fora) ou o erro de leitura */
+    private record Registro(long linha, Map<String, String> campos, String erro) {}
+
+    private interface Leitor {
+        /** null no fim do arquivo */
+        Registro proximo() throws IOException;
+    }
+
+    private record Pendente(long linha, ImovelModel imovel) {}
+
+    private final BairroService bairroService;
+    private final TiposImoveisService tiposImoveisService;
+    private final GeoService geoService;
+    private final ImovelService imovelService;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate tx;
+    private final int tamanhoLote;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ImovelImportService(
+            BairroService bairroService,
+            TiposImoveisService tiposImoveisService,
+            GeoService geoService,
+            ImovelService imovelService,
+            ObjectMapper mapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${api.imoveis.import.lote:500}") int tamanhoLote) {
+        this.bairroService = bairroService;
+        this.tiposImoveisService = tiposImoveisService;
+        this.geoService = geoService;
+        this.imovelService = imovelService;
+        this.mapper = mapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+    }
+
+    public static boolean formatoValido(String formato) {
+        return ImovelExportService.formatoValido(formato);
+    }
+
+    /** Lê o arquivo inteiro de in (UTF-8) e grava os imóveis válidos como sendo do usuário */
+    public Relatorio importar(String formato, InputStream in, UserModel usuario) throws IOException {
+        long inicio = System.currentTimeMillis();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        Leitor leitor = CSV.equalsIgnoreCase(formato) ? new LeitorCsv(reader) : new LeitorNdjson(reader, mapper);
+        Referencias ref = new Referencias(usuario);
+
+        List<ErroLinha> erros = new ArrayList<>();
+        long[] rejeitados = {0};
+        long linhas = 0, importados = 0;
+
+        List<Pendente> lote = new ArrayList<>(tamanhoLote);
+        List<ImovelModel> paraIndexar = new ArrayList<>();
+        boolean reconstruirIndice = false;
+
+        Registro r;
+        while ((r = leitor.proximo()) != null) {
+            linhas++;
+            try {
+                if (r.erro() != null) throw new IllegalArgumentException(r.erro());
+                lote.add(new Pendente(r.linha(), montar(r.campos(), ref)));
+            } catch (IllegalArgumentException e) {
+                rejeitar(erros, rejeitados, r.linha(), e.getMessage());
+            }
+
+            if (lote.size() == tamanhoLote) {
+                List<ImovelModel> gravados = gravar(lote, erros, rejeitados);
+                importados += gravados.size();
+                if (!reconstruirIndice) paraIndexar.addAll(gravados);
+                lote.clear();
+                if (paraIndexar.size() > MAX_INDEXAR_UM_A_UM) {
+                    // importação grande: guardar as entidades só para o índice não compensa
+                    reconstruirIndice = true;
+                    paraIndexar.clear();
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            List<ImovelModel> gravados = gravar(lote, erros, rejeitados);
+            importados += gravados.size();
+            if (!reconstruirIndice) paraIndexar.addAll(gravados);
+        }
+
+        if (reconstruirIndice) imovelService.carregarIndice();
+        else imovelService.indexarImportados(paraIndexar);
+
+        long ms = System.currentTimeMillis() - inicio;
+        long porSegundo = linhas * 1000 / Math.max(ms, 1);
+        log.info("[ImovelImportService] {} linhas, {} importadas, {} rejeitadas em {} ms ({} linhas/s)",
+                linhas, importados, rejeitados[0], ms, porSegundo);
+        return new Relatorio(linhas, importados, rejeitados[0], erros,
+                rejeitados[0] > erros.size(), ms, porSegundo);
+    }
+
+    // ========= GRAVAÇÃO EM LOTE =========
+
+    /** Grava o lote numa transação; se o banco recusar, refaz linha a linha para achar a culpada */
+    private List<ImovelModel> gravar(List<Pendente> lote, List<ErroLinha> erros, long[] rejeitados) {
+        try {
+            tx.executeWithoutResult(s -> persistir(lote));
+            List<ImovelModel> gravados = new ArrayList<>(lote.size());
+            for (Pendente p : lote) gravados.add(p.imovel());
+            return gravados;
+        } catch (RuntimeException e) {
+            log.debug("[ImovelImportService] Lote recusado, gravando linha a linha: {}", e.getMessage());
+        }
+
+        List<ImovelModel> gravados = new ArrayList<>();
+        for (Pendente p : lote) {
+            // o id que o gerador deu na tentativa que voltou não vale mais
+            p.imovel().setId(null);
+            try {
+                tx.executeWithoutResult(s -> persistir(List.of(p)));
+                gravados.add(p.imovel());
+            } catch (RuntimeException e) {
+                rejeitar(erros, rejeitados, p.linha(), "Recusado pelo banco: " + causaRaiz(e));
+            }
+        }
+        return gravados;
+    }
+
+    private void persistir(List<Pendente> lote) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+        for (Pendente p : lote) entityManager.persist(p.imovel());
+        entityManager.flush();
+        // nada do lote fica no contexto de persistência
+        entityManager.clear();
+    }
+
+    private static void rejeitar(List<ErroLinha> erros, long[] rejeitados, long linha, String mensagem) {
+        rejeitados[0]++;
+        if (erros.size() < MAX_ERROS_RELATORIO) erros.add(new ErroLinha(linha, mensagem));
+    }
+
+    private static String causaRaiz(Throwable e) {
+        while (e.getCause() != null && e.getCause() != e) e = e.getCause();
+        return e.getMessage();
+    }
+
+    // ========= LINHA → IMÓVEL =========
+
+    /** Bairros, tipos e CEPs resolvidos em memória durante uma importação */
+    private final class Referencias {
+        final UserModel usuario;
+        final Map<Integer, BairroModel> bairrosPorId = new HashMap<>();
+        final Map<String, BairroModel> bairrosPorNome = new HashMap<>();
+        final Map<Integer, TiposImoveisModel> tiposPorId = new HashMap<>();
+        final Map<String, TiposImoveisModel> tiposPorNome = new HashMap<>();
+        final Map<String, Optional<CepCoordenadaModel>> coordenadas = new HashMap<>();
+
+        Referencias(UserModel usuario) {
+            this.usuario = usuario;
+            for (BairroModel b : bairroService.getAll()) {
+                bairrosPorId.put(b.getId(), b);
+                if (b.getNome() != null) bairrosPorNome.putIfAbsent(chaveNome(b.getNome()), b);
+            }
+            for (TiposImoveisModel t : tiposImoveisService.getAll()) {
+                tiposPorId.put(t.getId(), t);
+                if (t.getNome() != null) tiposPorNome.putIfAbsent(chaveNome(t.getNome()), t);
+            }
+        }
+
+        Optional<CepCoordenadaModel> coordenada(String cep) {
+            String chave = GeoService.normalizarCep(cep);
+            if (chave == null) return Optional.empty();
+            return coordenadas.computeIfAbsent(chave, geoService::resolver);
+        }
+    }
+
+    private static ImovelModel montar(Map<String, String> c, Referencias ref) {
+        String titulo = c.get("titulo");
+        if (titulo == null) throw new IllegalArgumentException("titulo é obrigatório");
+        String finalidade = c.get("finalidade");
+        if (finalidade == null) throw new IllegalArgumentException("finalidade é obrigatória");
+
+        ImovelModel m = new ImovelModel();
+        m.setTitulo(titulo);
+        m.setDescricao(c.get("descricao"));
+        m.setCaracteristicas(c.get("caracteristicas"));
+        m.setFinalidade(finalidade.toUpperCase(Locale.ROOT));
+        String status = c.get("status");
+        m.setStatus(status != null ? status.toUpperCase(Locale.ROOT) : "ATIVO");
+        m.setDestaque(booleano(c, "destaque"));
+
+        m.setDormitorios(inteiro(c, "dormitorios"));
+        m.setBanheiros(inteiro(c, "banheiros"));
+        m.setGaragem(inteiro(c, "garagem"));
+
+        m.setPrecoVenda(decimal(c, "precoVenda"));
+        m.setPrecoAluguel(decimal(c, "precoAluguel"));
+        m.setAreaConstruida(decimal(c, "areaConstruida"));
+        m.setAreaTotal(decimal(c, "areaTotal"));
+
+        m.setEndereco(c.get("endereco"));
+        m.setNumero(c.get("numero"));
+        m.setComplemento(c.get("complemento"));
+        m.setCidade(c.get("cidade"));
+        String cep = c.get("cep");
+        if (cep != null) {
+            String limpo = GeoService.normalizarCep(cep);
+            if (limpo == null) throw new IllegalArgumentException("cep inválido: " + cep);
+            m.setCep(limpo);
+        }
+        Optional<CepCoordenadaModel> coord = ref.coordenada(m.getCep());
+        m.setLatitude(coord.map(CepCoordenadaModel::getLatitude).orElse(null));
+        m.setLongitude(coord.map(CepCoordenadaModel::getLongitude).orElse(null));
+
+        m.setBairro(referencia(c, "bairroId", "bairro", ref.bairrosPorId, ref.bairrosPorNome, "Bairro"));
+        m.setTipoImovel(referencia(c, "tipoImovelId", "tipoImovel", ref.tiposPorId, ref.tiposPorNome, "Tipo de imóvel"));
+        m.setUsuario(ref.usuario);
+        return m;
+    }
+
+    /** Pelo id quando vier; senão pelo nome (sem diferenciar acento/maiúscula) */
+    private static <T> T referencia(Map<String, String> c, String campoId, String campoNome,
+            Map<Integer, T> porId, Map<String, T> porNome, String rotulo) {
+        Integer id = inteiro(c, campoId);
+        if (id != null) {
+            T achado = porId.get(id);
+            if (achado == null) throw new IllegalArgumentException(rotulo + " não encontrado: " + id);
+            return achado;
+        }
+        String nome = c.get(campoNome);
+        if (nome == null) return null;
+        T achado = porNome.get(chaveNome(nome));
+        if (achado == null) throw new IllegalArgumentException(rotulo + " não encontrado: " + nome);
+        return achado;
+    }
+
+    private static Integer inteiro(Map<String, String> c, String campo) {
+        String v = c.get(campo);
+        if (v == null) return null;
+        try {
+            return Integer.valueOf(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(campo + " não é um número inteiro: " + v);
+        }
+    }
+
+    private static BigDecimal decimal(Map<String, String> c, String campo) {
+        String v = c.get(campo);
+        if (v == null) return null;
+        try {
+            return new BigDecimal(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(campo + " não é um número: " + v);
+        }
+    }
+
+    private static Boolean booleano(Map<String, String> c, String campo) {
+        String v = c.get(campo);
+        if (v == null) return Boolean.FALSE;
+        return switch (v.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "sim", "s" -> Boolean.TRUE;
+            case "false", "0", "nao", "não", "n" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException(campo + " não é booleano: " + v);
+        };
+    }
+
+    private static String chaveNome(String nome) {
+        String nfd = Normalizer.normalize(nome.trim(), Normalizer.Form.NFD);
+        return nfd.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    // ========= LEITORES =========
+
+    /**
+     * CSV conforme RFC 4180 (o que o export gera): primeira linha é o cabeçalho,
+     * campos entre aspas podem ter vírgula, aspas dobradas e quebra de linha.
+     */
+    private static final class LeitorCsv implements Leitor {
+        private final BufferedReader in;
+        private String[] cabecalho;
+        private long linha = 1;
+        private int lido = -2; // -2 = ainda não leu nada
+
+        LeitorCsv(BufferedReader in) {
+            this.in = in;
+        }
+
+        @Override
+        public Registro proximo() throws IOException {
+            if (cabecalho == null) {
+                List<String> c = campos();
+                if (c == null) return null;
+                cabecalho = c.toArray(String[]::new);
+                // BOM que o Excel põe no começo do arquivo
+                if (cabecalho.length > 0 && cabecalho[0].startsWith("\uFEFF")) cabecalho[0] = cabecalho[0].substring(1);
+                for (int i = 0; i < cabecalho.length; i++) cabecalho[i] = cabecalho[i].trim();
+            }
+
+            List<String> valores;
+            long inicio;
+            do {
+                inicio = linha;
+                valores = campos();
+                if (valores == null) return null;
+            } while (valores.size() == 1 && valores.get(0).isEmpty()); // linha em branco
+
+            if (valores.size() != cabecalho.length) {
+                return new Registro(inicio, null, "esperadas " + cabecalho.length
+                        + " colunas, vieram " + valores.size());
+            }
+            Map<String, String> campos = new HashMap<>();
+            for (int i = 0; i < cabecalho.length; i++) {
+                String v = valores.get(i).trim();
+                if (!v.isEmpty()) campos.put(cabecalho[i], v);
+            }
+            return new Registro(inicio, campos, null);
+        }
+
+        /** Os campos do próximo registro; null no fim do arquivo */
+        private List<String> campos() throws IOException {
+            int ch = ler();
+            if (ch == -1) return null;
+
+            List<String> r = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean aspas = false;
+            while (true) {
+                if (aspas && ch == -1) {
+                    // aspas não fechadas até o fim do arquivo: o resto vira um campo só
+                    r.add(campo.toString());
+                    return r;
+                } else if (aspas) {
+                    if (ch == '"') {
+                        int prox = ler();
+                        if (prox == '"') {
+                            campo.append('"');
+                        } else {
+                            aspas = false;
+                            ch = prox;
+                            continue;
+                        }
+                    } else {
+                        if (ch == '\n') linha++;
+                        campo.append((char) ch);
+                    }
+                } else if (ch == -1 || ch == '\n') {
+                    if (ch == '\n') linha++;
+                    r.add(campo.toString());
+                    return r;
+                } else if (ch == '\r') {
+                    // \r\n ou \r sozinho encerram o registro
+                    int prox = ler();
+                    if (prox != '\n') devolver(prox);
+                    linha++;
+                    r.add(campo.toString());
+                    return r;
+                } else if (ch == ',') {
+                    r.add(campo.toString());
+                    campo.setLength(0);
+                } else if (ch == '"' && campo.isEmpty()) {
+                    aspas = true;
+                } else {
+                    campo.append((char) ch);
+                }
+                ch = ler();
+            }
+        }
+
+        private int ler() throws IOException {
+            if (lido != -2) {
+                int c = lido;
+                lido = -2;
+                return c;
+            }
+            return in.read();
+        }
+
+        private void devolver(int c) {
+            lido = c;
+        }
+    }
+
+    /** NDJSON: um objeto por linha, com os mesmos nomes de campo do export */
+    private static final class LeitorNdjson implements Leitor {
+        private final BufferedReader in;
+        private final ObjectMapper mapper;
+        private long linha = 0;
+
+        LeitorNdjson(BufferedReader in, ObjectMapper mapper) {
+            this.in = in;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public Registro proximo() throws IOException {
+            String texto;
+            do {
+                texto = in.readLine();
+                if (texto == null) return null;
+                linha++;
+            } while (texto.isBlank());
+
+            JsonNode no;
+            try {
+                no = mapper.readTree(texto);
+            } catch (IOException e) {
+                return new Registro(linha, null, "JSON inválido");
+            }
+            if (no == null || !no.isObject()) return new Registro(linha, null, "a linha não é um objeto JSON");
+
+            Map<String, String> campos = new HashMap<>();
+            for (Map.Entry<String, JsonNode> e : no.properties()) {
+                JsonNode v = e.getValue();
+                if (v.isNull()) continue;
+                if (!v.isValueNode()) return new Registro(linha, null, e.getKey() + " deve ser um valor simples");
+                String s = v.asText().trim();
+                if (!s.isEmpty()) campos.put(e.getKey(), s);
+            }
+            return new Registro(linha, campos, null);
+        }
+    }
+}
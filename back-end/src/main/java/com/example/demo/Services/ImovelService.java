@@ -1,36 +1,113 @@
 // src/main/java/com/example/demo/Services/ImovelService.java
 package com.example.demo.Services;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.example.demo.Models.BairroModel;
 import com.example.demo.Models.ImovelModel;
 import com.example.demo.Models.TiposImoveisModel;
 import com.example.demo.Models.UserModel;
-import com.example.demo.Repositories.BairroRepository;
 import com.example.demo.Repositories.ImovelRepository;
-import com.example.demo.Repositories.TiposImoveisRepository;
+import com.example.demo.Repositories.ImovelSpecifications;
+import com.example.demo.Search.BuscaTextualIndex;
+import com.example.demo.Search.CatalogoIndex;
+import com.example.demo.Search.GeoIndex;
+import com.example.demo.Search.ResultadoTextual;
+import com.example.demo.dtos.FacetasDTO;
+import com.example.demo.dtos.ImovelCursor;
+import com.example.demo.dtos.ImovelFiltroDTO;
+import com.example.demo.dtos.ImovelMapaDTO;
 import com.example.demo.dtos.ImovelRequestDTO;
+import com.example.demo.dtos.ImovelResumoDTO;
+import com.example.demo.dtos.OrdenacaoImovel;
+import com.example.demo.dtos.PaginaCursorDTO;
+import com.fasterxml.jackson.databind.JsonNode;
 
 @Service
 public class ImovelService {
 
+    private static final Logger log = LoggerFactory.getLogger(ImovelService.class);
+
+    static final int TAMANHO_PAGINA_PADRAO = 20;
+    static final int TAMANHO_PAGINA_MAXIMO = 100;
+
+    static final int LIMITE_MAPA_PADRAO = 200;
+    static final int LIMITE_MAPA_MAXIMO = 1000;
+    static final double RAIO_MAXIMO_KM = 100;
+    // busca/mapa públicos sem ?status=: só o que está à venda/aluguel
+    static final String STATUS_PUBLICO_PADRAO = "ATIVO";
+
     private final ImovelRepository repository;
-    private final BairroRepository bairroRepository;
-    private final TiposImoveisRepository tiposImoveisRepository;
+    private final BairroService bairroService;
+    private final TiposImoveisService tiposImoveisService;
+    private final CatalogoIndex catalogoIndex;
+    private final BuscaTextualIndex buscaTextual;
+    private final GeoIndex geoIndex;
+    private final GeoService geoService;
+    private final FotoImovelService fotoService;
 
     @Autowired
     public ImovelService(
             ImovelRepository repository,
-            BairroRepository bairroRepository,
-            TiposImoveisRepository tiposImoveisRepository) {
+            BairroService bairroService,
+            TiposImoveisService tiposImoveisService,
+            CatalogoIndex catalogoIndex,
+            BuscaTextualIndex buscaTextual,
+            GeoIndex geoIndex,
+            GeoService geoService,
+            FotoImovelService fotoService) {
         this.repository = repository;
-        this.bairroRepository = bairroRepository;
-        this.tiposImoveisRepository = tiposImoveisRepository;
+        this.bairroService = bairroService;
+        this.tiposImoveisService = tiposImoveisService;
+        this.catalogoIndex = catalogoIndex;
+        this.buscaTextual = buscaTextual;
+        this.geoIndex = geoIndex;
+        this.geoService = geoService;
+        this.fotoService = fotoService;
+    }
+
+    // ========= ÍNDICE EM MEMÓRIA =========
+
+    /** Carga inicial dos índices (catálogo e texto); depois eles são mantidos a cada escrita. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarIndice() {
+        long inicio = System.currentTimeMillis();
+        List<ImovelModel> todos = repository.findAll();
+        catalogoIndex.reconstruir(todos);
+        buscaTextual.reconstruir(todos);
+        geoIndex.reconstruir(todos);
+        log.info("[ImovelService] Índices do catálogo carregados: {} imóveis em {} ms",
+                catalogoIndex.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    private ImovelModel indexar(ImovelModel salvo) {
+        catalogoIndex.atualizar(salvo);
+        buscaTextual.atualizar(salvo);
+        geoIndex.atualizar(salvo);
+        return salvo;
+    }
+
+    /** Imóveis gravados pela importação em lote (ImovelImportService) */
+    public void indexarImportados(List<ImovelModel> importados) {
+        importados.forEach(this::indexar);
     }
 
     // ========= LISTAR / BUSCAR =========
@@ -39,8 +116,13 @@ public class ImovelService {
         return repository.findAll();
     }
 
+    /** Listagem geral em formato resumido (GET /imoveis) */
+    public List<ImovelResumoDTO> listarResumos() {
+        return comCapas(repository.listarResumos());
+    }
+
     public ImovelModel find(Integer id) {
-        Optional<ImovelModel> model = repository.findById(id);
+        Optional<ImovelModel> model = repository.findComAssociacoesById(id);
         return model.orElse(null);
     }
 
@@ -48,13 +130,171 @@ public class ImovelService {
      * Lista apenas os imóveis cadastrados por um determinado usuário
      * (usado em /imoveis/meus).
      */
-    public List<ImovelModel> listarPorUsuario(UserModel usuario) {
-        if (usuario == null || usuario.getId() == null) {
+    public List<ImovelResumoDTO> listarPorUsuario(Integer usuarioId) {
+        if (usuarioId == null) {
             throw new IllegalArgumentException("Usuário inválido para listagem de imóveis.");
         }
-        return repository.findByUsuario(usuario);
-        // Se você tiver usado findByUsuarioId no repository, use:
-        // return repository.findByUsuarioId(usuario.getId());
+        return comCapas(repository.listarResumosPorUsuario(usuarioId));
+    }
+
+    // ========= BUSCA COM FILTROS (KEYSET) =========
+
+    /**
+     * Busca filtrada no banco com paginação por cursor: em vez de OFFSET,
+     * cada página continua a partir da (coluna de ordenação, id) da última
+     * linha da página anterior, então o custo não cresce com a página.
+     * Sem ?status= só aparecem imóveis ATIVO (vendidos/inativos só pedindo).
+     */
+    public PaginaCursorDTO<ImovelResumoDTO> buscar(ImovelFiltroDTO filtro) {
+        filtro.setStatus(statusPublico(filtro.getStatus()));
+        boolean temTexto = filtro.getQ() != null && !filtro.getQ().isBlank();
+
+        // com ?q= a ordem padrão é relevância; sem texto, relevância não existe
+        OrdenacaoImovel ordem = temTexto && (filtro.getOrdem() == null || filtro.getOrdem().isBlank())
+                ? OrdenacaoImovel.RELEVANCIA
+                : OrdenacaoImovel.from(filtro.getOrdem());
+        if (ordem.isPorRelevancia() && !temTexto) ordem = OrdenacaoImovel.RECENTES;
+
+        ImovelCursor cursor = ImovelCursor.decodificar(filtro.getCursor());
+        int tamanho = tamanhoPagina(filtro.getTamanho());
+        boolean aluguel = filtro.isAluguel();
+
+        ResultadoTextual texto = temTexto ? buscarTexto(filtro.getQ()) : null;
+
+        // caminho normal: filtra/ordena no índice e só carrega a página pelo id
+        if (catalogoIndex.isPronto()) {
+            PaginaCursorDTO<Integer> ids = catalogoIndex.buscar(filtro, ordem, cursor, tamanho, texto);
+            return new PaginaCursorDTO<>(resumosNaOrdem(ids.itens()), ids.proximoCursor(), ids.temMais());
+        }
+
+        Specification<ImovelModel> spec = ImovelSpecifications.filtro(filtro)
+                .and(ImovelSpecifications.aposCursor(ordem, aluguel, cursor));
+
+        Sort.Direction dir = ordem.isAscendente() ? Sort.Direction.ASC : Sort.Direction.DESC;
+        String atributo = ordem.atributo(aluguel);
+        Sort sort = atributo == null
+                ? Sort.by(dir, "id")
+                : Sort.by(dir, atributo).and(Sort.by(dir, "id"));
+
+        // busca uma linha a mais só para saber se existe próxima página
+        List<ImovelModel> linhas = repository.findBy(spec,
+                q -> q.sortBy(sort).limit(tamanho + 1).all());
+
+        boolean temMais = linhas.size() > tamanho;
+        List<ImovelModel> itens = temMais ? linhas.subList(0, tamanho) : linhas;
+
+        String proximo = null;
+        if (temMais) {
+            ImovelModel ultimo = itens.get(itens.size() - 1);
+            BigDecimal valor = atributo == null ? null : valorOrdenacao(ultimo, ordem, aluguel);
+            proximo = new ImovelCursor(valor, ultimo.getId()).codificar();
+        }
+
+        return new PaginaCursorDTO<>(
+                resumosNaOrdem(itens.stream().map(ImovelModel::getId).toList()), proximo, temMais);
+    }
+
+    /**
+     * Contagens da barra de filtros para o filtro atual.
+     * Só existe a partir do índice em memória (sem GROUP BY no banco).
+     */
+    public FacetasDTO facetas(ImovelFiltroDTO filtro) {
+        filtro.setStatus(statusPublico(filtro.getStatus()));
+        boolean temTexto = filtro.getQ() != null && !filtro.getQ().isBlank();
+        ResultadoTextual texto = temTexto ? buscarTexto(filtro.getQ()) : null;
+        if (!catalogoIndex.isPronto()) {
+            throw new IllegalStateException("Índice de busca ainda está sendo carregado");
+        }
+        return catalogoIndex.facetas(filtro, texto);
+    }
+
+    // ========= MAPA =========
+
+    /**
+     * Imóveis a até raioKm de (lat, lon), do mais perto para o mais longe.
+     * status como no filtro da listagem; sem status o mapa público só mostra ATIVO.
+     */
+    public List<ImovelMapaDTO> buscarNoRaio(double lat, double lon, double raioKm, String status, Integer limite) {
+        validarCoordenada(lat, lon);
+        if (!(raioKm > 0) || raioKm > RAIO_MAXIMO_KM) {
+            throw new IllegalArgumentException("raioKm deve estar entre 0 e " + (int) RAIO_MAXIMO_KM);
+        }
+        return paraMapa(geoIndex.raio(lat, lon, raioKm, statusPublico(status), limiteMapa(limite)));
+    }
+
+    /** Imóveis dentro do retângulo (área visível do mapa); status como em buscarNoRaio */
+    public List<ImovelMapaDTO> buscarNoRetangulo(
+            double minLat, double minLon, double maxLat, double maxLon, String status, Integer limite) {
+        validarCoordenada(minLat, minLon);
+        validarCoordenada(maxLat, maxLon);
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("Retângulo inválido (min maior que max)");
+        }
+        return paraMapa(geoIndex.retangulo(minLat, minLon, maxLat, maxLon, statusPublico(status), limiteMapa(limite)));
+    }
+
+    private List<ImovelMapaDTO> paraMapa(List<GeoIndex.Ponto> pontos) {
+        if (pontos.isEmpty()) return List.of();
+        Map<Integer, ImovelResumoDTO> porId = new HashMap<>();
+        for (ImovelResumoDTO r : comCapas(repository.listarResumosPorIds(pontos.stream().map(GeoIndex.Ponto::id).toList()))) {
+            porId.put(r.id(), r);
+        }
+        return pontos.stream()
+                .filter(p -> porId.containsKey(p.id()))
+                .map(p -> new ImovelMapaDTO(porId.get(p.id()), p.latitude(), p.longitude(),
+                        Double.isNaN(p.distanciaKm()) ? null : p.distanciaKm()))
+                .toList();
+    }
+
+    private static void validarCoordenada(double lat, double lon) {
+        if (!(lat >= -90 && lat <= 90) || !(lon >= -180 && lon <= 180)) {
+            throw new IllegalArgumentException("Coordenada inválida");
+        }
+    }
+
+    static String statusPublico(String pedido) {
+        return pedido == null || pedido.isBlank() ? STATUS_PUBLICO_PADRAO : pedido.trim().toUpperCase();
+    }
+
+    static int limiteMapa(Integer pedido) {
+        if (pedido == null || pedido <= 0) return LIMITE_MAPA_PADRAO;
+        return Math.min(pedido, LIMITE_MAPA_MAXIMO);
+    }
+
+    /** Texto só existe no índice em memória (nada de LIKE '%...%' no banco) */
+    private ResultadoTextual buscarTexto(String q) {
+        if (!catalogoIndex.isPronto() || !buscaTextual.isPronto()) {
+            throw new IllegalStateException("Índice de busca ainda está sendo carregado");
+        }
+        return buscaTextual.buscar(q);
+    }
+
+    /** O IN (...) não garante ordem; reordena conforme a lista de ids */
+    private List<ImovelResumoDTO> resumosNaOrdem(List<Integer> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Integer, ImovelResumoDTO> porId = new HashMap<>();
+        for (ImovelResumoDTO r : comCapas(repository.listarResumosPorIds(ids))) porId.put(r.id(), r);
+        return ids.stream().map(porId::get).filter(r -> r != null).toList();
+    }
+
+    /** Preenche a capa de todos os resumos com uma consulta só (não uma por card) */
+    private List<ImovelResumoDTO> comCapas(List<ImovelResumoDTO> resumos) {
+        if (resumos.isEmpty()) return resumos;
+        Map<Integer, String> capas = fotoService.capas(resumos.stream().map(ImovelResumoDTO::id).toList());
+        if (capas.isEmpty()) return resumos;
+        return resumos.stream()
+                .map(r -> capas.containsKey(r.id()) ? r.comCapa(capas.get(r.id())) : r)
+                .toList();
+    }
+
+    static int tamanhoPagina(Integer pedido) {
+        if (pedido == null || pedido <= 0) return TAMANHO_PAGINA_PADRAO;
+        return Math.min(pedido, TAMANHO_PAGINA_MAXIMO);
+    }
+
+    private static BigDecimal valorOrdenacao(ImovelModel m, OrdenacaoImovel ordem, boolean aluguel) {
+        if (ordem.isPorPreco()) return aluguel ? m.getPrecoAluguel() : m.getPrecoVenda();
+        return m.getAreaTotal();
     }
 
     // ========= INSERIR A PARTIR DO DTO =========
@@ -87,20 +327,23 @@ public class ImovelService {
         imovel.setComplemento(dto.getComplemento());
         imovel.setCep(dto.getCep());
         imovel.setCidade(dto.getCidade());
+        geoService.preencherCoordenadas(imovel);
 
-        // 🔗 BAIRRO
+        // 🔗 BAIRRO (lookup pelo cache de referência, sem ir ao banco)
         if (dto.getBairroId() != null) {
-            BairroModel bairro = bairroRepository.findById(dto.getBairroId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Bairro não encontrado: " + dto.getBairroId()));
+            BairroModel bairro = bairroService.find(dto.getBairroId());
+            if (bairro == null) {
+                throw new IllegalArgumentException("Bairro não encontrado: " + dto.getBairroId());
+            }
             imovel.setBairro(bairro);
         }
 
         // 🔗 TIPO DE IMÓVEL
         if (dto.getTipoImovelId() != null) {
-            TiposImoveisModel tipo = tiposImoveisRepository.findById(dto.getTipoImovelId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Tipo de imóvel não encontrado: " + dto.getTipoImovelId()));
+            TiposImoveisModel tipo = tiposImoveisService.find(dto.getTipoImovelId());
+            if (tipo == null) {
+                throw new IllegalArgumentException("Tipo de imóvel não encontrado: " + dto.getTipoImovelId());
+            }
             imovel.setTipoImovel(tipo);
         }
 
@@ -115,19 +358,27 @@ public class ImovelService {
             imovel.setDestaque(Boolean.FALSE);
         }
 
-        return repository.save(imovel);
+        return indexar(repository.save(imovel));
     }
 
     // ========= (LEGADO) INSERIR DIRETO COM MODEL, SE AINDA FOR USADO =========
 
     public ImovelModel insert(ImovelModel model) {
-        return repository.save(model);
+        return indexar(repository.save(model));
     }
 
     // ========= UPDATE / DELETE =========
 
+    /**
+     * Substitui os campos editáveis. model.getVersao() é a versão que o cliente
+     * leu (obrigatória): diferente da gravada → ObjectOptimisticLockingFailureException,
+     * inclusive se outra edição entrar entre a leitura e o save (o merge confere o @Version).
+     */
     public ImovelModel update(ImovelModel model) {
     Integer id = model.getId();
+    if (model.getVersao() == null) {
+        throw new IllegalArgumentException("versao é obrigatória");
+    }
 
     Optional<ImovelModel> opt = repository.findById(id);
     if (opt.isEmpty()) {
@@ -135,6 +386,8 @@ public class ImovelService {
     }
 
     ImovelModel existente = opt.get();
+    conferirVersao(existente, model.getVersao());
+    existente.setVersao(model.getVersao());
 
     // Copia os campos que podem ser alterados
     existente.setTitulo(model.getTitulo());
@@ -145,7 +398,11 @@ public class ImovelService {
     existente.setPrecoAluguel(model.getPrecoAluguel());
     existente.setEndereco(model.getEndereco());
     existente.setNumero(model.getNumero());
+    boolean cepMudou = !Objects.equals(existente.getCep(), model.getCep());
     existente.setCep(model.getCep());
+    if (cepMudou || existente.getLatitude() == null) {
+        geoService.preencherCoordenadas(existente);
+    }
     existente.setComplemento(model.getComplemento());
     existente.setStatus(model.getStatus());
     existente.setDormitorios(model.getDormitorios());
@@ -154,16 +411,144 @@ public class ImovelService {
     existente.setAreaConstruida(model.getAreaConstruida());
     existente.setAreaTotal(model.getAreaTotal());
 
-    // se tiver relacionamentos:
-    existente.setBairro(model.getBairro());
-    existente.setTipoImovel(model.getTipoImovel());
-    existente.setUsuario(model.getUsuario());
+    // relacionamentos: só pelo id, resolvido no cache; o dono não muda por aqui
+    existente.setBairro(model.getBairro() != null ? bairro(model.getBairro().getId()) : null);
+    existente.setTipoImovel(model.getTipoImovel() != null ? tipoImovel(model.getTipoImovel().getId()) : null);
 
-    return repository.save(existente);
+    return indexar(repository.save(existente));
 }
 
+    // ========= ATUALIZAÇÃO PARCIAL (PATCH) =========
+
+    /**
+     * Aplica só os campos presentes no corpo (null explícito limpa o campo).
+     * Com @DynamicUpdate o UPDATE leva apenas as colunas que mudaram; o @Version
+     * faz a gravação falhar (ObjectOptimisticLockingFailureException) se outra
+     * edição entrou no meio. A versão lida pelo cliente é obrigatória e
+     * precisa ser a atual. Devolve null se o imóvel não existe.
+     *
+     * Os índices em memória só mudam depois do commit: um rollback (ou a
+     * falha do próprio commit) não deixa a busca mostrando o que não foi gravado.
+     */
+    @Transactional
+    public ImovelModel atualizarParcial(Integer id, long versao, JsonNode campos) {
+        if (campos == null || !campos.isObject()) {
+            throw new IllegalArgumentException("O corpo deve ser um objeto JSON com os campos a alterar.");
+        }
+        ImovelModel m = repository.findById(id).orElse(null);
+        if (m == null) return null;
+        conferirVersao(m, versao);
+
+        String cepAntes = m.getCep();
+        for (Map.Entry<String, JsonNode> e : campos.properties()) {
+            aplicar(m, e.getKey(), e.getValue());
+        }
+        if (!Objects.equals(cepAntes, m.getCep())) {
+            geoService.preencherCoordenadas(m);
+        }
+
+        // flush aqui: a falha da trava sai deste método, com o 409 de sempre
+        ImovelModel salvo = repository.saveAndFlush(m);
+        depoisDoCommit(() -> indexar(salvo));
+        return salvo;
+    }
+
+    /** Roda a ação quando a transação atual commitar (na hora, se não há transação) */
+    private static void depoisDoCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private void aplicar(ImovelModel m, String campo, JsonNode v) {
+        switch (campo) {
+            case "versao" -> { }
+            case "titulo" -> m.setTitulo(obrigatorio(campo, texto(campo, v)));
+            case "descricao" -> m.setDescricao(texto(campo, v));
+            case "caracteristicas" -> m.setCaracteristicas(texto(campo, v));
+            case "finalidade" -> m.setFinalidade(obrigatorio(campo, texto(campo, v)));
+            case "status" -> m.setStatus(obrigatorio(campo, texto(campo, v)));
+            case "destaque" -> m.setDestaque(Boolean.TRUE.equals(booleano(campo, v)));
+            case "dormitorios" -> m.setDormitorios(inteiro(campo, v));
+            case "banheiros" -> m.setBanheiros(inteiro(campo, v));
+            case "garagem" -> m.setGaragem(inteiro(campo, v));
+            case "precoVenda" -> m.setPrecoVenda(decimal(campo, v));
+            case "precoAluguel" -> m.setPrecoAluguel(decimal(campo, v));
+            case "areaConstruida" -> m.setAreaConstruida(decimal(campo, v));
+            case "areaTotal" -> m.setAreaTotal(decimal(campo, v));
+            case "endereco" -> m.setEndereco(texto(campo, v));
+            case "numero" -> m.setNumero(texto(campo, v));
+            case "complemento" -> m.setComplemento(texto(campo, v));
+            case "cidade" -> m.setCidade(texto(campo, v));
+            case "cep" -> m.setCep(texto(campo, v));
+            case "bairroId" -> m.setBairro(bairro(inteiro(campo, v)));
+            case "tipoImovelId" -> m.setTipoImovel(tipoImovel(inteiro(campo, v)));
+            default -> throw new IllegalArgumentException("Campo não pode ser alterado: " + campo);
+        }
+    }
+
+    /** Versão informada pelo cliente diferente da gravada: alguém salvou antes */
+    private static void conferirVersao(ImovelModel atual, long informada) {
+        if (atual.getVersao() == null || informada != atual.getVersao()) {
+            throw new ObjectOptimisticLockingFailureException(ImovelModel.class, atual.getId());
+        }
+    }
+
+    private BairroModel bairro(Integer id) {
+        if (id == null) return null;
+        BairroModel bairro = bairroService.find(id);
+        if (bairro == null) throw new IllegalArgumentException("Bairro não encontrado: " + id);
+        return bairro;
+    }
+
+    private TiposImoveisModel tipoImovel(Integer id) {
+        if (id == null) return null;
+        TiposImoveisModel tipo = tiposImoveisService.find(id);
+        if (tipo == null) throw new IllegalArgumentException("Tipo de imóvel não encontrado: " + id);
+        return tipo;
+    }
+
+    private static String obrigatorio(String campo, String valor) {
+        if (valor == null || valor.isBlank()) throw new IllegalArgumentException(campo + " não pode ficar vazio");
+        return valor;
+    }
+
+    private static String texto(String campo, JsonNode v) {
+        if (v.isNull()) return null;
+        if (!v.isValueNode()) throw new IllegalArgumentException(campo + " deve ser um valor simples");
+        return v.asText();
+    }
+
+    private static Integer inteiro(String campo, JsonNode v) {
+        if (v.isNull()) return null;
+        if (v.isIntegralNumber() && v.canConvertToInt()) return v.intValue();
+        throw new IllegalArgumentException(campo + " deve ser um número inteiro");
+    }
+
+    private static BigDecimal decimal(String campo, JsonNode v) {
+        if (v.isNull()) return null;
+        // pelo texto, para 350000.1 não virar 350000.09999...
+        if (v.isNumber()) return new BigDecimal(v.asText());
+        throw new IllegalArgumentException(campo + " deve ser um número");
+    }
+
+    private static Boolean booleano(String campo, JsonNode v) {
+        if (v.isNull()) return null;
+        if (v.isBoolean()) return v.booleanValue();
+        throw new IllegalArgumentException(campo + " deve ser true ou false");
+    }
 
     public void delete(Integer id) {
         repository.deleteById(id);
+        catalogoIndex.remover(id);
+        buscaTextual.remover(id);
+        geoIndex.remover(id);
     }
 }
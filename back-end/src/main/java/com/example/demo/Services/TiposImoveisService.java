@@ -1,13 +1,14 @@
 package com.example.demo.Services;
 
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.Cache.CacheReferencia;
+import com.example.demo.Cache.EstatisticasCache;
 import com.example.demo.Models.TiposImoveisModel;
 import com.example.demo.Repositories.TiposImoveisRepository;
 
@@ -17,11 +18,18 @@ public class TiposImoveisService {
 
     @Autowired
     private TiposImoveisRepository repository;
-        
+
+    private static final int CAPACIDADE_CACHE = 1024;
+
+    // muda poucas vezes por ano: lista em snapshot imutável + lookup por id em LRU
+    private final CacheReferencia<TiposImoveisModel> cache = new CacheReferencia<>(
+            "tiposImoveis", CAPACIDADE_CACHE,
+            () -> repository.findAll(), id -> repository.findById(id), TiposImoveisModel::getId);
+
+    /** Lista completa (imutável, servida do cache) */
     public List<TiposImoveisModel> getAll() {
-        List<TiposImoveisModel> list = repository.findAll();
-        return list;
-    } 
+        return cache.todos();
+    }
 
     public Page<TiposImoveisModel> getAll(Pageable pageable) {
         Page<TiposImoveisModel> list = repository.findAll(pageable);
@@ -29,18 +37,21 @@ public class TiposImoveisService {
     }
 
     public TiposImoveisModel find(Integer id) {
-        Optional<TiposImoveisModel> model = repository.findById(id);
-        return model.orElse(null);
+        return cache.porId(id);
     }
 
     public TiposImoveisModel insert(TiposImoveisModel model) {
-        return repository.save(model);
+        TiposImoveisModel salvo = repository.save(model);
+        cache.gravado(salvo);
+        return salvo;
     }
  
     public TiposImoveisModel update(TiposImoveisModel model) {
         try {
             if(find(model.getId())!=null){
-                return repository.save(model);
+                TiposImoveisModel salvo = repository.save(model);
+                cache.gravado(salvo);
+                return salvo;
             }
             return null;
         } catch (Exception e) {
@@ -51,6 +62,11 @@ public class TiposImoveisService {
 
     public void delete(Integer id) {
         repository.deleteById(id);
+        cache.removido(id);
+    }
+
+    public List<EstatisticasCache> estatisticasCache() {
+        return cache.estatisticas();
     }
 
 }
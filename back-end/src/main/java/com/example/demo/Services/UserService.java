@@ -2,13 +2,14 @@
 package com.example.demo.Services;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; // ✅ ADICIONE
 
 import com.example.demo.Models.UserModel;
 import com.example.demo.Repositories.UserRepository;
+import com.example.demo.Security.SenhaService;
 import com.example.demo.dtos.UserDTO;
 
 @Service
@@ -17,8 +18,9 @@ public class UserService {
     @Autowired
     private UserRepository repository;
 
-    // encoder simples, sem precisar de @Bean
-    private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder();
+    // BCrypt roda no pool limitado do SenhaService, não na thread do Tomcat
+    @Autowired
+    private SenhaService senhaService;
 
     public List<UserModel> getAll() {
         return repository.findAll();
@@ -28,7 +30,11 @@ public class UserService {
         return repository.findById(id).orElse(null);
     }
 
-    public UserModel insert(UserDTO dto) {
+    /**
+     * O hash BCrypt roda no pool do SenhaService e a gravação continua lá quando
+     * ele termina: a thread do Tomcat não espera (o controller responde assíncrono).
+     */
+    public CompletableFuture<UserModel> insert(UserDTO dto) {
         UserModel model = new UserModel();
         model.setName(dto.getName());
         model.setEmail(dto.getEmail());
@@ -38,14 +44,16 @@ public class UserService {
         if (dto.getPassword() == null || dto.getPassword().isBlank()) {
             throw new IllegalArgumentException("Senha é obrigatória");
         }
-        model.setPassword(ENCODER.encode(dto.getPassword()));
-
-        return repository.save(model);
+        return senhaService.hash(dto.getPassword()).thenApply(hash -> {
+            model.setPassword(hash);
+            return repository.save(model);
+        });
     }
 
-    public UserModel update(UserDTO dto) {
+    /** null (já completado) se o usuário não existe */
+    public CompletableFuture<UserModel> update(UserDTO dto) {
         UserModel model = find(dto.getId());
-        if (model == null) return null;
+        if (model == null) return CompletableFuture.completedFuture(null);
 
         model.setName(dto.getName());
         model.setEmail(dto.getEmail());
@@ -53,10 +61,13 @@ public class UserService {
 
         // 🔐 Se vier senha nova, re-hash
         if (dto.getPassword() != null && !dto.getPassword().isBlank()) {
-            model.setPassword(ENCODER.encode(dto.getPassword()));
+            return senhaService.hash(dto.getPassword()).thenApply(hash -> {
+                model.setPassword(hash);
+                return repository.save(model);
+            });
         }
 
-        return repository.save(model);
+        return CompletableFuture.completedFuture(repository.save(model));
     }
 
     public void delete(Integer id) {
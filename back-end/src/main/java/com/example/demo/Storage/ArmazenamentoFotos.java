@@ -0,0 +1,67 @@
+// src/main/java/com/example/demo/Storage/ArmazenamentoFotos.java
+package com.example.demo.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Onde ficam os bytes das fotos. A chave de cada arquivo é a SHA-256 do
+ * conteúdo (hex), então a mesma foto enviada duas vezes ocupa espaço uma vez só.
+ *
+ * Hoje só existe o disco local (ArmazenamentoLocal); um bucket compatível
+ * com S3 entra implementando esta interface, sem mexer em quem usa.
+ */
+public interface ArmazenamentoFotos {
+
+    /**
+     * Lê o stream até o fim (sem carregar tudo em memória), calcula a
+     * SHA-256 no caminho e grava pelo hash. Se o conteúdo já existia,
+     * nada é regravado e o retorno vem com novo = false.
+     *
+     * O hash sai reservado: removerSeSemUso não apaga o conteúdo até quem
+     * gravou chamar soltar() — depois de gravar a foto que aponta para ele
+     * (ou de desistir dela).
+     */
+    ArquivoArmazenado gravar(InputStream conteudo) throws IOException;
+
+    /** Libera a reserva feita por gravar() */
+    void soltar(String hash);
+
+    boolean existe(String hash);
+
+    /** Stream do conteúdo; quem chama fecha */
+    InputStream abrir(String hash) throws IOException;
+
+    /**
+     * Apaga o conteúdo e os derivados se ninguém tiver o hash reservado e
+     * semUso (ex.: nenhuma foto aponta para ele) confirmar. As duas checagens
+     * e a remoção acontecem sob a mesma trava do hash que gravar() usa para
+     * decidir entre "novo" e "já existia": um upload do mesmo conteúdo em
+     * paralelo nunca fica apontando para um arquivo apagado.
+     */
+    boolean removerSeSemUso(String hash, BooleanSupplier semUso) throws IOException;
+
+    // ========= DERIVADOS (versões reduzidas, sempre JPEG) =========
+
+    void gravarDerivado(String hash, TamanhoFoto tamanho, byte[] jpeg) throws IOException;
+
+    boolean existeDerivado(String hash, TamanhoFoto tamanho);
+
+    InputStream abrirDerivado(String hash, TamanhoFoto tamanho) throws IOException;
+
+    // ========= ENTREGA =========
+
+    /** Tamanho em bytes do original (tamanho null) ou do derivado */
+    long tamanho(String hash, TamanhoFoto tamanho) throws IOException;
+
+    /**
+     * Arquivo no disco desta máquina, para entrega sem cópia (sendfile /
+     * FileChannel.transferTo). Armazenamentos remotos devolvem null e a
+     * entrega cai em abrir()/abrirDerivado().
+     */
+    default Path arquivoLocal(String hash, TamanhoFoto tamanho) {
+        return null;
+    }
+}
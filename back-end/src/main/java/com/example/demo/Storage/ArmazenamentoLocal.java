@@ -0,0 +1,195 @@
+// src/main/java/com/example/demo/Storage/ArmazenamentoLocal.java
+package com.example.demo.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fotos no disco local, em raiz/ab/cd/abcd…(hash completo); derivados ao
+ * lado, em raiz/ab/cd/<hash>-card.jpg etc.
+ *
+ * O upload passa por um buffer direto de 64 KB: cada bloco lido do canal
+ * atualiza a SHA-256 e é escrito num arquivo temporário na mesma raiz.
+ * No fim o temporário é movido (atomicamente) para o nome do hash; se esse
+ * nome já existe, o conteúdo é o mesmo e o temporário é só apagado.
+ *
+ * A decisão "novo ou já existia" + reserva do hash, a liberação da reserva
+ * e a remoção passam por travas listradas por hash (TRAVAS posições).
+ *
+ * Para testes basta apontar api.storage.local.raiz para um diretório temporário.
+ */
+@Component
+public class ArmazenamentoLocal implements ArmazenamentoFotos {
+
+    private static final int BUFFER = 64 * 1024;
+    private static final int TRAVAS = 64;
+
+    private final Object[] travas = new Object[TRAVAS];
+    // hash → quantos gravar() ainda não chamaram soltar(); acessado só sob a trava do hash
+    private final Map<String, Integer> reservas = new HashMap<>();
+
+    private final Path raiz;
+    private final Path temporarios;
+
+    public ArmazenamentoLocal(@Value("${api.storage.local.raiz:uploads/fotos}") String raiz) throws IOException {
+        this.raiz = Path.of(raiz).toAbsolutePath().normalize();
+        this.temporarios = this.raiz.resolve("tmp");
+        Files.createDirectories(temporarios);
+        for (int i = 0; i < TRAVAS; i++) travas[i] = new Object();
+    }
+
+    @Override
+    public ArquivoArmazenado gravar(InputStream conteudo) throws IOException {
+        MessageDigest sha = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER);
+        byte[] assinatura = new byte[TipoImagem.BYTES_ASSINATURA];
+        int lidosAssinatura = 0;
+        long tamanho = 0;
+
+        Path temp = Files.createTempFile(temporarios, "up-", ".part");
+        try {
+            try (ReadableByteChannel in = Channels.newChannel(conteudo);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    if (lidosAssinatura < assinatura.length) {
+                        int n = Math.min(assinatura.length - lidosAssinatura, buffer.remaining());
+                        buffer.duplicate().get(assinatura, lidosAssinatura, n);
+                        lidosAssinatura += n;
+                    }
+                    sha.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) tamanho += out.write(buffer);
+                    buffer.clear();
+                }
+            }
+
+            String mime = TipoImagem.detectar(assinatura, lidosAssinatura);
+            if (mime == null) {
+                throw new IllegalArgumentException("Arquivo não é uma imagem JPEG, PNG, WebP ou GIF");
+            }
+
+            String hash = HexFormat.of().formatHex(sha.digest());
+            Path destino = caminho(hash);
+            synchronized (trava(hash)) {
+                boolean novo = !Files.exists(destino);
+                if (novo) {
+                    Files.createDirectories(destino.getParent());
+                    try {
+                        Files.move(temp, destino, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException e) {
+                        // outro upload do mesmo conteúdo chegou primeiro
+                        novo = false;
+                    }
+                }
+                reservas.merge(hash, 1, Integer::sum);
+                return new ArquivoArmazenado(hash, tamanho, mime, novo);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean existe(String hash) {
+        return Files.exists(caminho(hash));
+    }
+
+    @Override
+    public InputStream abrir(String hash) throws IOException {
+        return Files.newInputStream(caminho(hash));
+    }
+
+    @Override
+    public void soltar(String hash) {
+        synchronized (trava(hash)) {
+            reservas.computeIfPresent(hash, (h, n) -> n > 1 ? n - 1 : null);
+        }
+    }
+
+    @Override
+    public boolean removerSeSemUso(String hash, BooleanSupplier semUso) throws IOException {
+        Path original = caminho(hash);
+        synchronized (trava(hash)) {
+            if (reservas.containsKey(hash) || !semUso.getAsBoolean()) return false;
+            for (TamanhoFoto t : TamanhoFoto.values()) Files.deleteIfExists(caminho(hash, t));
+            Files.deleteIfExists(original);
+            return true;
+        }
+    }
+
+    @Override
+    public void gravarDerivado(String hash, TamanhoFoto tamanho, byte[] jpeg) throws IOException {
+        Path destino = caminho(hash, tamanho);
+        Files.createDirectories(destino.getParent());
+        Path temp = Files.createTempFile(temporarios, "der-", ".part");
+        try {
+            Files.write(temp, jpeg);
+            Files.move(temp, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean existeDerivado(String hash, TamanhoFoto tamanho) {
+        return Files.exists(caminho(hash, tamanho));
+    }
+
+    @Override
+    public InputStream abrirDerivado(String hash, TamanhoFoto tamanho) throws IOException {
+        return Files.newInputStream(caminho(hash, tamanho));
+    }
+
+    @Override
+    public long tamanho(String hash, TamanhoFoto tamanho) throws IOException {
+        return Files.size(arquivoLocal(hash, tamanho));
+    }
+
+    @Override
+    public Path arquivoLocal(String hash, TamanhoFoto tamanho) {
+        return tamanho == null ? caminho(hash) : caminho(hash, tamanho);
+    }
+
+    private Object trava(String hash) {
+        return travas[Math.floorMod(hash.hashCode(), TRAVAS)];
+    }
+
+    /** raiz/ab/cd/hash: dois níveis para não juntar milhares de arquivos num diretório só */
+    Path caminho(String hash) {
+        if (hash == null || hash.length() != 64 || !hash.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            throw new IllegalArgumentException("Hash inválido");
+        }
+        return raiz.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    Path caminho(String hash, TamanhoFoto tamanho) {
+        Path original = caminho(hash);
+        return original.resolveSibling(hash + "-" + tamanho.variante() + ".jpg");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+// src/main/java/com/example/demo/Storage/ArquivoArmazenado.java
+package com.example.demo.Storage;
+
+/**
+ * Resultado de uma gravação: hash (SHA-256 hex, também é a chave),
+ * tamanho em bytes, tipo detectado pelos primeiros bytes e se o
+ * conteúdo foi gravado agora ou já existia (deduplicado).
+ */
+public record ArquivoArmazenado(String hash, long tamanho, String mime, boolean novo) {}
@@ -0,0 +1,105 @@
+// src/main/java/com/example/demo/Storage/ProcessadorImagem.java
+package com.example.demo.Storage;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Decodifica, reduz e recomprime fotos só com o ImageIO do JDK.
+ *
+ *  - leitura com subamostragem: uma foto de 6000 px já sai do decoder com
+ *    ~2048 px, sem montar o bitmap inteiro em memória;
+ *  - redução em passos de metade (bilinear) até chegar perto do alvo,
+ *    que fica bem mais nítido que um único passo grande;
+ *  - saída em JPEG progressivo (qualidade 0,82), sem metadados EXIF.
+ */
+public final class ProcessadorImagem {
+
+    // acima disso é "bomba" de descompressão: nem tenta decodificar
+    private static final long MAX_PIXELS = 100_000_000L;
+    private static final float QUALIDADE_JPEG = 0.82f;
+
+    private ProcessadorImagem() {}
+
+    /** Lê a imagem já reduzida (por subamostragem) para no mínimo maiorLado no maior lado */
+    public static BufferedImage ler(InputStream in, int maiorLado) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> leitores = ImageIO.getImageReaders(iis);
+            if (!leitores.hasNext()) throw new IOException("Formato de imagem não suportado");
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(iis, true, true);
+                int w = leitor.getWidth(0), h = leitor.getHeight(0);
+                if ((long) w * h > MAX_PIXELS) throw new IOException("Imagem grande demais: " + w + "x" + h);
+
+                ImageReadParam param = leitor.getDefaultReadParam();
+                int passo = Math.max(1, Math.max(w, h) / maiorLado);
+                if (passo > 1) param.setSourceSubsampling(passo, passo, 0, 0);
+                return leitor.read(0, param);
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    /** Cópia RGB (fundo branco no lugar da transparência) com o maior lado ≤ maiorLado */
+    public static BufferedImage reduzir(BufferedImage origem, int maiorLado) {
+        int w = origem.getWidth(), h = origem.getHeight();
+        double escala = Math.min(1.0, (double) maiorLado / Math.max(w, h));
+        int alvoW = Math.max(1, (int) Math.round(w * escala));
+        int alvoH = Math.max(1, (int) Math.round(h * escala));
+
+        BufferedImage atual = origem;
+        while (true) {
+            int cw = atual.getWidth(), ch = atual.getHeight();
+            // metade enquanto ainda estiver a mais de 2x do alvo
+            int nw = cw / 2 >= alvoW ? cw / 2 : alvoW;
+            int nh = ch / 2 >= alvoH ? ch / 2 : alvoH;
+            BufferedImage prox = new BufferedImage(nw, nh, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = prox.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, nw, nh);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(atual, 0, 0, nw, nh, null);
+            } finally {
+                g.dispose();
+            }
+            atual = prox;
+            if (nw == alvoW && nh == alvoH) return atual;
+        }
+    }
+
+    /** JPEG progressivo */
+    public static byte[] jpegProgressivo(BufferedImage img) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            escritor.setOutput(out);
+            ImageWriteParam param = escritor.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(QUALIDADE_JPEG);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            escritor.write(null, new IIOImage(img, null, null), param);
+        } finally {
+            escritor.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
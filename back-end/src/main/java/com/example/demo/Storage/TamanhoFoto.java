@@ -0,0 +1,40 @@
+// src/main/java/com/example/demo/Storage/TamanhoFoto.java
+package com.example.demo.Storage;
+
+/**
+ * Versões reduzidas geradas para cada foto, pelo maior lado em pixels.
+ * O nome em minúsculas é o sufixo do arquivo e o valor de ?tamanho= na URL.
+ */
+public enum TamanhoFoto {
+    CARD(480),
+    GALERIA(1280),
+    COMPLETA(2048);
+
+    private final int maiorLado;
+
+    TamanhoFoto(int maiorLado) {
+        this.maiorLado = maiorLado;
+    }
+
+    public int maiorLado() {
+        return maiorLado;
+    }
+
+    public String variante() {
+        return name().toLowerCase();
+    }
+
+    /** "card", "galeria", "completa" (sem diferenciar maiúsculas) ou null */
+    public static TamanhoFoto de(String nome) {
+        if (nome == null) return null;
+        for (TamanhoFoto t : values()) {
+            if (t.name().equalsIgnoreCase(nome)) return t;
+        }
+        return null;
+    }
+
+    /** Maior lado de todos: até aqui a imagem pode ser reduzida já na leitura */
+    public static int maiorDeTodos() {
+        return COMPLETA.maiorLado;
+    }
+}
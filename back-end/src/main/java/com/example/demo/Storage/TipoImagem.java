@@ -0,0 +1,34 @@
+// src/main/java/com/example/demo/Storage/TipoImagem.java
+package com.example.demo.Storage;
+
+/**
+ * Detecta o tipo da imagem pela assinatura (magic bytes) em vez de
+ * confiar no Content-Type ou na extensão mandados pelo cliente.
+ */
+public final class TipoImagem {
+
+    /** Quantos bytes do começo do arquivo bastam para detectar */
+    public static final int BYTES_ASSINATURA = 12;
+
+    private TipoImagem() {}
+
+    /** image/jpeg, image/png, image/webp, image/gif ou null se não for nenhum */
+    public static String detectar(byte[] b, int n) {
+        if (n >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (n >= 8 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G'
+                && b[4] == 0x0D && b[5] == 0x0A && b[6] == 0x1A && b[7] == 0x0A) {
+            return "image/png";
+        }
+        if (n >= 12 && b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') {
+            return "image/webp";
+        }
+        if (n >= 6 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F' && b[3] == '8'
+                && (b[4] == '7' || b[4] == '9') && b[5] == 'a') {
+            return "image/gif";
+        }
+        return null;
+    }
+}
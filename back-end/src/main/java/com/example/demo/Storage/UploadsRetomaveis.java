@@ -0,0 +1,311 @@
+// src/main/java/com/example/demo/Storage/UploadsRetomaveis.java
+package com.example.demo.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Uploads retomáveis em partes (conexões móveis que caem no meio):
+ *
+ *  1. criar: reserva um arquivo do tamanho total (RandomAccessFile.setLength,
+ *     esparso na maioria dos sistemas de arquivos) e devolve um id;
+ *  2. gravarParte: escreve a parte na posição pedida com FileChannel.write
+ *     posicional. A posição tem que ser exatamente o que o servidor já
+ *     recebeu (o offset mora aqui, não no cliente); se a conexão cair, o
+ *     cliente pergunta o offset e continua dali;
+ *  3. concluir: com tudo recebido, o arquivo segue o fluxo normal
+ *     (FotoImovelService.salvarArquivo) e é apagado.
+ *
+ * Uma parte por vez por upload: gravarParte segura a trava do upload
+ * enquanto lê do socket, então um segundo PUT (ou concluir/cancelar) no
+ * mesmo upload recebe UploadOcupadoException (409) na hora em vez de
+ * ficar na fila. A consulta do offset não usa a trava.
+ *
+ * O estado fica em memória: um restart perde os uploads em andamento
+ * (os arquivos órfãos são apagados na subida). Uploads parados além do
+ * TTL são descartados por uma varredura periódica.
+ */
+@Component
+public class UploadsRetomaveis {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadsRetomaveis.class);
+
+    private static final int BUFFER = 64 * 1024;
+    private static final String SUFIXO = ".upload";
+
+    /** Estado de um upload, para o cliente saber de onde continuar */
+    public record Situacao(String id, long tamanho, long recebido, boolean completo) {}
+
+    /** Metadados guardados na criação e devolvidos na conclusão */
+    public record Dados(Integer imovelId, String nomeArquivo, Boolean capa, Integer ordem) {}
+
+    private static final class Upload {
+        final String id;
+        final Integer dono;
+        final Dados dados;
+        final long tamanho;
+        final Path arquivo;
+        final ReentrantLock trava = new ReentrantLock();
+        // escrito só por quem tem a trava; lido sem ela por situacao()
+        volatile long recebido;
+        volatile long ultimoUso;
+        boolean encerrado;
+
+        Upload(String id, Integer dono, Dados dados, long tamanho, Path arquivo) {
+            this.id = id;
+            this.dono = dono;
+            this.dados = dados;
+            this.tamanho = tamanho;
+            this.arquivo = arquivo;
+            this.ultimoUso = System.currentTimeMillis();
+        }
+
+        Situacao situacao() {
+            long r = recebido;
+            return new Situacao(id, tamanho, r, r == tamanho);
+        }
+
+        /** Pega a trava ou falha na hora se outra requisição está com ela */
+        void travar() {
+            if (!trava.tryLock()) throw new UploadOcupadoException(recebido);
+        }
+    }
+
+    /** Offset pedido diferente do recebido (parte repetida ou pulada) */
+    public static class OffsetInvalidoException extends RuntimeException {
+        private final long esperado;
+
+        public OffsetInvalidoException(long esperado) {
+            super("Offset esperado: " + esperado);
+            this.esperado = esperado;
+        }
+
+        public long getEsperado() {
+            return esperado;
+        }
+    }
+
+    /** Outra requisição está gravando (ou concluindo) este upload */
+    public static class UploadOcupadoException extends RuntimeException {
+        private final long recebido;
+
+        public UploadOcupadoException(long recebido) {
+            super("Upload em andamento por outra requisição");
+            this.recebido = recebido;
+        }
+
+        public long getRecebido() {
+            return recebido;
+        }
+    }
+
+    private final Path diretorio;
+    private final long tamanhoMaximo;
+    private final int capacidade;
+    private final long ttlMs;
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService limpeza;
+
+    public UploadsRetomaveis(
+            @Value("${api.storage.local.raiz:uploads/fotos}") String raiz,
+            @Value("${api.fotos.upload-retomavel.tamanho-maximo:209715200}") long tamanhoMaximo,  // 200 MB
+            @Value("${api.fotos.upload-retomavel.capacidade:1000}") int capacidade,
+            @Value("${api.fotos.upload-retomavel.ttl-ms:86400000}") long ttlMs) throws IOException {  // 24h
+        this.diretorio = Path.of(raiz).toAbsolutePath().normalize().resolve("parciais");
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.capacidade = capacidade;
+        this.ttlMs = ttlMs;
+        Files.createDirectories(diretorio);
+        apagarOrfaos();
+
+        this.limpeza = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "uploads-limpeza");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodo = Math.max(60_000, ttlMs / 4);
+        limpeza.scheduleWithFixedDelay(this::descartarAbandonados, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    // ========= API =========
+
+    public Situacao criar(Integer dono, Dados dados, long tamanho) throws IOException {
+        if (tamanho <= 0 || tamanho > tamanhoMaximo) {
+            throw new IllegalArgumentException("Tamanho deve estar entre 1 e " + tamanhoMaximo + " bytes");
+        }
+        if (uploads.size() >= capacidade) {
+            throw new IllegalStateException("Muitos uploads em andamento");
+        }
+        String id = UUID.randomUUID().toString();
+        Path arquivo = diretorio.resolve(id + SUFIXO);
+        try (RandomAccessFile raf = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            raf.setLength(tamanho);
+        }
+        Upload u = new Upload(id, dono, dados, tamanho, arquivo);
+        uploads.put(id, u);
+        return u.situacao();
+    }
+
+    /**
+     * null se não existe, expirou ou é de outro usuário. Sem trava: durante
+     * um PUT em andamento devolve o que já foi gravado até agora.
+     */
+    public Situacao situacao(String id, Integer dono) {
+        Upload u = buscar(id, dono);
+        return u == null ? null : u.situacao();
+    }
+
+    /**
+     * Grava a parte que começa em offset (tem que ser o recebido até agora).
+     * Lê até o fim do stream ou até completar o arquivo; bytes além do
+     * tamanho declarado são erro. Se a conexão cair no meio, o que chegou
+     * já conta: o offset avança bloco a bloco. Outra parte em andamento
+     * no mesmo upload → UploadOcupadoException.
+     */
+    public Situacao gravarParte(String id, Integer dono, long offset, InputStream conteudo) throws IOException {
+        Upload u = buscar(id, dono);
+        if (u == null) return null;
+        u.travar();
+        try {
+            if (u.encerrado) return null;
+            if (offset != u.recebido) throw new OffsetInvalidoException(u.recebido);
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER);
+            try (FileChannel out = FileChannel.open(u.arquivo, StandardOpenOption.WRITE)) {
+                ReadableByteChannel in = Channels.newChannel(conteudo);
+                while (true) {
+                    long resta = u.tamanho - u.recebido;
+                    // lê um byte além do que falta para detectar excesso
+                    buffer.limit((int) Math.min(buffer.capacity(), resta + 1));
+                    int n = in.read(buffer);
+                    if (n < 0) break;
+                    if (n > resta) {
+                        throw new IllegalArgumentException("Parte passa do tamanho declarado (" + u.tamanho + ")");
+                    }
+                    buffer.flip();
+                    long pos = u.recebido;
+                    while (buffer.hasRemaining()) pos += out.write(buffer, pos);
+                    u.recebido = pos;
+                    buffer.clear();
+                }
+            } finally {
+                u.ultimoUso = System.currentTimeMillis();
+            }
+            return u.situacao();
+        } finally {
+            u.trava.unlock();
+        }
+    }
+
+    /**
+     * Entrega o arquivo completo para quem vai processá-lo e apaga depois
+     * (com sucesso ou não). null se não existe; IllegalStateException se incompleto.
+     */
+    public <T> T concluir(String id, Integer dono, Conclusao<T> conclusao) throws IOException {
+        Upload u = buscar(id, dono);
+        if (u == null) return null;
+        u.travar();
+        try {
+            if (u.encerrado) return null;
+            if (u.recebido != u.tamanho) {
+                throw new IllegalStateException("Upload incompleto: " + u.recebido + " de " + u.tamanho + " bytes");
+            }
+            try (InputStream in = Files.newInputStream(u.arquivo)) {
+                return conclusao.concluir(u.dados, in);
+            } finally {
+                encerrar(u);
+            }
+        } finally {
+            u.trava.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Conclusao<T> {
+        T concluir(Dados dados, InputStream conteudo) throws IOException;
+    }
+
+    public boolean cancelar(String id, Integer dono) {
+        Upload u = buscar(id, dono);
+        if (u == null) return false;
+        u.travar();
+        try {
+            encerrar(u);
+        } finally {
+            u.trava.unlock();
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void fechar() {
+        limpeza.shutdownNow();
+    }
+
+    // ========= INTERNOS =========
+
+    private Upload buscar(String id, Integer dono) {
+        Upload u = id == null ? null : uploads.get(id);
+        if (u == null || (u.dono != null && !u.dono.equals(dono))) return null;
+        return u;
+    }
+
+    private void encerrar(Upload u) {
+        u.encerrado = true;
+        uploads.remove(u.id);
+        try {
+            Files.deleteIfExists(u.arquivo);
+        } catch (IOException e) {
+            log.warn("[UploadsRetomaveis] Falha ao apagar {}: {}", u.arquivo, e.getMessage());
+        }
+    }
+
+    void descartarAbandonados() {
+        long limite = System.currentTimeMillis() - ttlMs;
+        int descartados = 0;
+        for (Upload u : uploads.values()) {
+            // com a trava ocupada alguém está mexendo nele: não está abandonado
+            if (u.ultimoUso >= limite || !u.trava.tryLock()) continue;
+            try {
+                if (u.encerrado || u.ultimoUso >= limite) continue;
+                encerrar(u);
+                descartados++;
+            } finally {
+                u.trava.unlock();
+            }
+        }
+        if (descartados > 0) {
+            log.info("[UploadsRetomaveis] {} uploads abandonados descartados", descartados);
+        }
+    }
+
+    /** Na subida não há estado em memória: qualquer parcial no disco é órfão */
+    private void apagarOrfaos() throws IOException {
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(diretorio, "*" + SUFIXO)) {
+            for (Path p : ds) Files.deleteIfExists(p);
+        }
+    }
+}
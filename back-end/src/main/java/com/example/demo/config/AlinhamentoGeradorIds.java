@@ -0,0 +1,64 @@
+// src/main/java/com/example/demo/config/AlinhamentoGeradorIds.java
+package com.example.demo.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Tabelas que saíram de IDENTITY para o gerador em tabela (id_geradores)
+ * já têm linhas com ids do AUTO_INCREMENT. Na subida, antes de qualquer
+ * INSERT, o contador de cada uma é empurrado para depois do max(id) com
+ * folga de um bloco inteiro — assim o otimizador pooled do Hibernate
+ * nunca devolve um id já usado.
+ *
+ * Depende do EntityManagerFactory só para rodar depois do ddl-auto
+ * (que cria a id_geradores).
+ */
+@Component
+public class AlinhamentoGeradorIds {
+
+    private static final Logger log = LoggerFactory.getLogger(AlinhamentoGeradorIds.class);
+
+    static final String TABELA = "id_geradores";
+    static final int BLOCO = 50; // mesmo allocationSize dos @TableGenerator
+
+    // nome no gerador (pkColumnValue) → tabela da entidade
+    private static final Map<String, String> GERADORES = Map.of(
+            "fotos_imoveis", "fotos_imoveis",
+            "imoveis", "imoveis");
+
+    private final JdbcTemplate jdbc;
+
+    public AlinhamentoGeradorIds(JdbcTemplate jdbc, EntityManagerFactory emf) {
+        this.jdbc = jdbc;
+    }
+
+    @PostConstruct
+    public void alinhar() {
+        GERADORES.forEach(this::alinhar);
+    }
+
+    private void alinhar(String gerador, String tabela) {
+        Long max = jdbc.queryForObject("select coalesce(max(id), 0) from " + tabela, Long.class);
+        long minimo = max + BLOCO + 1;
+
+        List<Long> atual = jdbc.queryForList(
+                "select proximo from " + TABELA + " where nome = ?", Long.class, gerador);
+        if (atual.isEmpty()) {
+            jdbc.update("insert into " + TABELA + " (nome, proximo) values (?, ?)", gerador, minimo);
+        } else if (atual.get(0) == null || atual.get(0) < minimo) {
+            jdbc.update("update " + TABELA + " set proximo = ? where nome = ?", minimo, gerador);
+        } else {
+            return;
+        }
+        log.info("[AlinhamentoGeradorIds] Gerador {} alinhado: próximo bloco acima de {}", gerador, max);
+    }
+}
@@ -0,0 +1,22 @@
+// src/main/java/com/example/demo/config/AmostraLog.java
+package com.example.demo.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+
+/**
+ * DEBUG amostrado para caminhos quentes: com o nível ligado, só 1 em cada
+ * N chamadas escreve. Desligado, custa o mesmo que um isDebugEnabled().
+ *
+ *     if (AmostraLog.debug(log, 100)) log.debug("...", ...);
+ */
+public final class AmostraLog {
+
+    private AmostraLog() {}
+
+    public static boolean debug(Logger log, int umACada) {
+        return log.isDebugEnabled()
+                && (umACada <= 1 || ThreadLocalRandom.current().nextInt(umACada) == 0);
+    }
+}
@@ -0,0 +1,60 @@
+// src/main/java/com/example/demo/config/ContextoRequisicao.java
+package com.example.demo.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Campos de log de uma requisição, juntados ao longo do processamento e
+ * escritos numa linha só pelo LogRequisicaoFilter quando a resposta termina.
+ *
+ * Fica num ThreadLocal enquanto a thread do Tomcat atende a requisição.
+ * Código assíncrono (CompletableFuture) pega o contexto com atual() antes
+ * de sair da thread e grava nele depois; por isso os métodos são sincronizados.
+ */
+public final class ContextoRequisicao {
+
+    private static final ThreadLocal<ContextoRequisicao> ATUAL = new ThreadLocal<>();
+
+    // fora de requisição (jobs, testes): aceita e descarta
+    private static final ContextoRequisicao NENHUM = new ContextoRequisicao(false);
+
+    private final Map<String, Object> campos = new LinkedHashMap<>();
+    private final boolean ativo;
+
+    ContextoRequisicao() {
+        this(true);
+    }
+
+    private ContextoRequisicao(boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    /** Contexto da requisição desta thread (nunca nulo) */
+    public static ContextoRequisicao atual() {
+        ContextoRequisicao c = ATUAL.get();
+        return c != null ? c : NENHUM;
+    }
+
+    /** Atalho para atual().com(chave, valor) */
+    public static void put(String chave, Object valor) {
+        atual().com(chave, valor);
+    }
+
+    public synchronized ContextoRequisicao com(String chave, Object valor) {
+        if (ativo) campos.put(chave, valor);
+        return this;
+    }
+
+    synchronized Map<String, Object> campos() {
+        return new LinkedHashMap<>(campos);
+    }
+
+    static void vincular(ContextoRequisicao c) {
+        ATUAL.set(c);
+    }
+
+    static void desvincular() {
+        ATUAL.remove();
+    }
+}
@@ -0,0 +1,122 @@
+// src/main/java/com/example/demo/config/LogRequisicaoFilter.java
+package com.example.demo.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Uma linha de log por requisição, no fim, no logger "requisicao":
+ *
+ *     metodo=GET uri=/imoveis/12 status=200 ms=4 uid=7 ...
+ *
+ * Os campos extras vêm do ContextoRequisicao (preenchido pelo JwtAuthFilter,
+ * controllers, serviços). Respostas assíncronas (login) são logadas quando
+ * o AsyncContext completa. Fica antes da cadeia do Spring Security, então
+ * mede e registra também os 401/403/429.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LogRequisicaoFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger("requisicao");
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain) throws ServletException, IOException {
+
+        if (!log.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        ContextoRequisicao contexto = new ContextoRequisicao();
+        ContextoRequisicao.vincular(contexto);
+        boolean assincrono = false;
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            contexto.com("erro", e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            ContextoRequisicao.desvincular();
+            if (request.isAsyncStarted()) {
+                assincrono = true;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        escrever(request, response, contexto, inicio);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        contexto.com("erro", "timeout");
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        Throwable t = event.getThrowable();
+                        contexto.com("erro", t != null ? t.getClass().getSimpleName() : "async");
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
+            if (!assincrono) escrever(request, response, contexto, inicio);
+        }
+    }
+
+    private static void escrever(HttpServletRequest request, HttpServletResponse response,
+                                 ContextoRequisicao contexto, long inicio) {
+        StringBuilder sb = new StringBuilder(160)
+                .append("metodo=").append(request.getMethod())
+                .append(" uri=").append(request.getRequestURI())
+                .append(" status=").append(response.getStatus())
+                .append(" ms=").append((System.nanoTime() - inicio) / 1_000_000);
+        for (Map.Entry<String, Object> e : contexto.campos().entrySet()) {
+            sb.append(' ').append(e.getKey()).append('=');
+            valor(sb, e.getValue());
+        }
+        log.info(sb.toString());
+    }
+
+    /** logfmt: aspas só quando o valor tem espaço, aspas ou '=' */
+    private static void valor(StringBuilder sb, Object v) {
+        String s = String.valueOf(v);
+        boolean aspas = s.isEmpty();
+        for (int i = 0; i < s.length() && !aspas; i++) {
+            char c = s.charAt(i);
+            aspas = c == ' ' || c == '"' || c == '=' || c < 0x20;
+        }
+        if (!aspas) {
+            sb.append(s);
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(' ');
+            else sb.append(c);
+        }
+        sb.append('"');
+    }
+}
@@ -2,6 +2,7 @@
 package com.example.demo.config;
 
 import com.example.demo.Security.JwtAuthFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -61,6 +62,10 @@ public class SecurityConfig {
                         "/tiposImoveis/**"
                 ).permitAll()
 
+                // só o conteúdo e a listagem por imóvel são públicos (<img src> não manda Authorization);
+                // upload, situação de upload e métricas exigem login
+                .requestMatchers(HttpMethod.GET, "/fotos/*/arquivo", "/fotos/imovel/*").permitAll()
+
                 // qualquer outra rota: precisa estar autenticado
                 .anyRequest().authenticated()
             )
@@ -77,7 +82,7 @@ public class SecurityConfig {
         CorsConfiguration config = new CorsConfiguration();
         // Em dev pode liberar geral
         config.setAllowedOriginPatterns(List.of("*"));
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
         config.setAllowCredentials(true);
 
@@ -86,10 +91,11 @@ public class SecurityConfig {
         return source;
     }
 
-    // PasswordEncoder usado no AuthController/UserService
+    // PasswordEncoder usado pelo SenhaService (login/cadastro)
+    // custo (log2 das rodadas) configurável; hashes antigos continuam válidos
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.bcrypt.cost:10}") int custo) {
+        return new BCryptPasswordEncoder(custo);
     }
 
     // AuthenticationManager se você usar em algum lugar
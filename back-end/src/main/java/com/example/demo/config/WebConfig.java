@@ -22,7 +22,7 @@ public class WebConfig {
         // config.setAllowedOriginPatterns(List.of("http://localhost:3000"));
 
         // Métodos liberados
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         // Headers que aceitamos (Authorization, Content-Type, etc)
         config.setAllowedHeaders(List.of("*"));
 
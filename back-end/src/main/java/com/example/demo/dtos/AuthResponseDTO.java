@@ -1,3 +1,4 @@
 package com.example.demo.dtos;
 
-public record AuthResponseDTO(String token, UserDTO user) {}
+/** token = acesso (JWT curto); refreshToken = opaco, trocado em /auth/refresh */
+public record AuthResponseDTO(String token, String refreshToken, UserDTO user) {}
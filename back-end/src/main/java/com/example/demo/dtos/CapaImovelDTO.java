@@ -0,0 +1,8 @@
+// src/main/java/com/example/demo/dtos/CapaImovelDTO.java
+package com.example.demo.dtos;
+
+/**
+ * Foto de capa candidata de um imóvel, vinda da consulta em lote do
+ * FotoImovelRepository (uma linha por foto com capa = true).
+ */
+public record CapaImovelDTO(Integer imovelId, Integer fotoId, Integer ordem, String hash, String caminho) {}
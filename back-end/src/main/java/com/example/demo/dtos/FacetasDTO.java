@@ -0,0 +1,22 @@
+package com.example.demo.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contagens para a barra de filtros da página pública (GET /imoveis/facets).
+ * Cada faceta é contada com todos os filtros atuais, menos o dela mesma,
+ * para mostrar quantos imóveis existiriam ao trocar aquela opção.
+ */
+public record FacetasDTO(
+        int total,
+        Map<String, Integer> finalidades,
+        Map<Integer, Integer> bairros,      // bairroId → qtd
+        Map<Integer, Integer> tipos,        // tipoImovelId → qtd
+        Map<Integer, Integer> dormitorios,  // nº de dormitórios → qtd
+        List<FaixaPreco> precos) {
+
+    /** max nulo = "acima de min" */
+    public record FaixaPreco(BigDecimal min, BigDecimal max, int quantidade) {}
+}
@@ -13,6 +13,11 @@ public class FotoImovelDTO {
     private Boolean capa;
     private Integer ordem;
     private Integer imovel_id; //chave estrangeira para o imóvel
+    private String hash;
+    private Long tamanho;
+    private String mime;
+    private String derivados; // PENDENTE, PRONTO, FALHOU
+    private String url;       // GET do arquivo (aceita ?tamanho=card|galeria|completa|original)
 
     public FotoImovelDTO() {
     }
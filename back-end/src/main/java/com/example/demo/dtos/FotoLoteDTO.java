@@ -0,0 +1,22 @@
+package com.example.demo.dtos;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Parte "dados" do upload em lote (POST /fotos/lote): o imóvel e, na mesma
+ * ordem das partes "arquivos", a capa/ordem de cada foto. Sem "fotos" (ou
+ * com menos itens que arquivos), a ordem é a posição do arquivo no envio.
+ */
+@Getter
+@Setter
+public class FotoLoteDTO {
+
+    private Integer imovel_id;
+    private List<FotoImovelDTO> fotos;
+
+    public FotoLoteDTO() {
+    }
+}
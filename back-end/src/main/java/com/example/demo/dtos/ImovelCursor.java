@@ -0,0 +1,34 @@
+// src/main/java/com/example/demo/dtos/ImovelCursor.java
+package com.example.demo.dtos;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da busca de imóveis: guarda o valor da coluna de ordenação
+ * e o id da última linha devolvida. O cliente só repassa a string.
+ *
+ * valor vem nulo quando a ordenação é só pelo id (RECENTES).
+ */
+public record ImovelCursor(BigDecimal valor, int id) {
+
+    public String codificar() {
+        String bruto = (valor == null ? "" : valor.toPlainString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ImovelCursor decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = bruto.lastIndexOf('|');
+            String valor = bruto.substring(0, sep);
+            int id = Integer.parseInt(bruto.substring(sep + 1));
+            return new ImovelCursor(valor.isEmpty() ? null : new BigDecimal(valor), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
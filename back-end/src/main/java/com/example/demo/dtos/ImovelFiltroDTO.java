@@ -0,0 +1,50 @@
+// src/main/java/com/example/demo/dtos/ImovelFiltroDTO.java
+package com.example.demo.dtos;
+
+import java.math.BigDecimal;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Filtros aceitos por GET /imoveis/search (vêm como query params).
+ * Todos são opcionais; o que vier nulo não entra no WHERE.
+ */
+@Getter
+@Setter
+public class ImovelFiltroDTO {
+
+    private String finalidade;   // VENDA | ALUGUEL
+    private String status;       // ATIVO, INATIVO, ...
+
+    private Integer bairroId;
+    private Integer tipoImovelId;
+
+    // faixa de preço (usa preço de aluguel quando finalidade=ALUGUEL, senão preço de venda)
+    private BigDecimal precoMin;
+    private BigDecimal precoMax;
+
+    // faixa de área total (m²)
+    private BigDecimal areaMin;
+    private BigDecimal areaMax;
+
+    // mínimos
+    private Integer dormitoriosMin;
+    private Integer banheirosMin;
+    private Integer garagemMin;
+
+    // busca textual em título, características e descrição
+    private String q;
+
+    // recentes | menor_preco | maior_preco | menor_area | maior_area | relevancia
+    private String ordem;
+
+    // paginação por cursor (keyset)
+    private String cursor;
+    private Integer tamanho;
+
+    /** true quando o preço considerado é o de aluguel */
+    public boolean isAluguel() {
+        return finalidade != null && "ALUGUEL".equalsIgnoreCase(finalidade);
+    }
+}
@@ -0,0 +1,12 @@
+// src/main/java/com/example/demo/dtos/ImovelMapaDTO.java
+package com.example.demo.dtos;
+
+/**
+ * Imóvel posicionado no mapa (GET /imoveis/mapa).
+ * distanciaKm só vem na busca por raio.
+ */
+public record ImovelMapaDTO(
+        ImovelResumoDTO imovel,
+        double latitude,
+        double longitude,
+        Double distanciaKm) {}
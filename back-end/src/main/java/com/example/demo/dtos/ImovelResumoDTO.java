@@ -0,0 +1,40 @@
+// src/main/java/com/example/demo/dtos/ImovelResumoDTO.java
+package com.example.demo.dtos;
+
+import java.math.BigDecimal;
+
+/**
+ * Versão enxuta do imóvel para telas de listagem (cards e tabelas).
+ * Preenchida direto por constructor expression no ImovelRepository,
+ * sem carregar a entidade, os textos longos nem as associações.
+ *
+ * bairro e tipoImovel são só os nomes; capa é a URL da foto de capa no
+ * tamanho de card, preenchida depois em lote (FotoImovelService.capas).
+ */
+public record ImovelResumoDTO(
+        Integer id,
+        String titulo,
+        String finalidade,
+        String status,
+        BigDecimal precoVenda,
+        BigDecimal precoAluguel,
+        String cidade,
+        String bairro,
+        String tipoImovel,
+        String capa,
+        Integer dormitorios,
+        BigDecimal areaTotal) {
+
+    /** Usado pela constructor expression (a capa vem de outra consulta) */
+    public ImovelResumoDTO(Integer id, String titulo, String finalidade, String status,
+                           BigDecimal precoVenda, BigDecimal precoAluguel, String cidade,
+                           String bairro, String tipoImovel, Integer dormitorios, BigDecimal areaTotal) {
+        this(id, titulo, finalidade, status, precoVenda, precoAluguel, cidade,
+                bairro, tipoImovel, null, dormitorios, areaTotal);
+    }
+
+    public ImovelResumoDTO comCapa(String capa) {
+        return new ImovelResumoDTO(id, titulo, finalidade, status, precoVenda, precoAluguel, cidade,
+                bairro, tipoImovel, capa, dormitorios, areaTotal);
+    }
+}
@@ -0,0 +1,59 @@
+// src/main/java/com/example/demo/dtos/OrdenacaoImovel.java
+package com.example.demo.dtos;
+
+/**
+ * Ordenações suportadas pela busca de imóveis.
+ * O desempate é sempre pelo id (mesma direção), o que garante
+ * uma ordem total e permite a paginação por cursor.
+ */
+public enum OrdenacaoImovel {
+
+    RECENTES(null, false),
+    MENOR_PRECO("preco", true),
+    MAIOR_PRECO("preco", false),
+    MENOR_AREA("areaTotal", true),
+    MAIOR_AREA("areaTotal", false),
+    // só faz sentido com busca textual (?q=); o banco não sabe ordenar por ela
+    RELEVANCIA("relevancia", false);
+
+    private final String campo;
+    private final boolean ascendente;
+
+    OrdenacaoImovel(String campo, boolean ascendente) {
+        this.campo = campo;
+        this.ascendente = ascendente;
+    }
+
+    public boolean isAscendente() {
+        return ascendente;
+    }
+
+    public boolean isPorPreco() {
+        return "preco".equals(campo);
+    }
+
+    public boolean isPorArea() {
+        return "areaTotal".equals(campo);
+    }
+
+    public boolean isPorRelevancia() {
+        return this == RELEVANCIA;
+    }
+
+    /** Nome do atributo de ImovelModel usado na ordenação (null = só id) */
+    public String atributo(boolean aluguel) {
+        if (campo == null || isPorRelevancia()) return null;
+        if (isPorPreco()) return aluguel ? "precoAluguel" : "precoVenda";
+        return campo;
+    }
+
+    /** Converte o query param (ex.: "menor_preco") — nulo/vazio vira RECENTES */
+    public static OrdenacaoImovel from(String valor) {
+        if (valor == null || valor.isBlank()) return RECENTES;
+        try {
+            return OrdenacaoImovel.valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ordenação inválida: " + valor);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.dtos;
+
+import java.util.List;
+
+/**
+ * Página de resultados com paginação por cursor.
+ * proximoCursor vem nulo quando não há mais resultados.
+ */
+public record PaginaCursorDTO<T>(List<T> itens, String proximoCursor, boolean temMais) {}
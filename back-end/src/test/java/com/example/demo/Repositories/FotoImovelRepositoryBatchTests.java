@@ -0,0 +1,70 @@
+package com.example.demo.Repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.example.demo.Models.FotoImovelModel;
+import com.example.demo.Models.ImovelModel;
+import com.example.demo.Models.UserModel;
+import com.example.demo.UsuariosDeTeste;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * O upload em lote depende de os INSERTs de fotos irem em batch JDBC:
+ * o número de comandos preparados não pode crescer com a quantidade de fotos.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class FotoImovelRepositoryBatchTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private FotoImovelRepository repository;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void saveAllDeUmLoteViraUmBatch() {
+        UserModel dono = UsuariosDeTeste.corretor();
+        em.persist(dono);
+
+        ImovelModel imovel = new ImovelModel();
+        imovel.setTitulo("Com fotos");
+        imovel.setUsuario(dono);
+        em.persist(imovel);
+        em.flush();
+        em.clear();
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        List<FotoImovelModel> fotos = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            FotoImovelModel f = new FotoImovelModel(null, "foto" + i + ".jpg", "h" + i, i == 0, i + 1);
+            f.setImovel(em.getEntityManager().getReference(ImovelModel.class, imovel.getId()));
+            fotos.add(f);
+        }
+        repository.saveAll(fotos);
+        em.flush();
+
+        assertThat(repository.count()).isEqualTo(40);
+        // gerador em tabela (um bloco de ids) + um INSERT em batch; nada por foto
+        assertThat(stats.getPrepareStatementCount()).isLessThan(10);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.demo.Repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.example.demo.Models.BairroModel;
+import com.example.demo.Models.FotoImovelModel;
+import com.example.demo.Models.ImovelModel;
+import com.example.demo.Models.TiposImoveisModel;
+import com.example.demo.Models.UserModel;
+import com.example.demo.UsuariosDeTeste;
+import com.example.demo.dtos.CapaImovelDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Garante que as consultas usadas pelas listagens de imóveis não têm N+1:
+ * o número de comandos SQL (incluindo os disparados pela serialização JSON)
+ * tem que ser o mesmo com poucos ou com muitos imóveis.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class ImovelRepositoryQueryCountTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ImovelRepository repository;
+
+    @Autowired
+    private FotoImovelRepository fotoRepository;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private Statistics stats;
+    private int sequencia = 0;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findAllNaoDependeDaQuantidadeDeLinhas() {
+        criarImoveis(3);
+        long poucos = contarComandos(() -> serializar(repository.findAll()));
+
+        criarImoveis(40);
+        long muitos = contarComandos(() -> serializar(repository.findAll()));
+
+        assertThat(poucos).isEqualTo(1);
+        assertThat(muitos).isEqualTo(poucos);
+    }
+
+    @Test
+    void findByUsuarioNaoDependeDaQuantidadeDeLinhas() {
+        UserModel dono = criarImoveis(3);
+        long poucos = contarComandos(() -> serializar(repository.findByUsuario(dono)));
+
+        UserModel outro = criarImoveis(40);
+        long muitos = contarComandos(() -> serializar(repository.findByUsuario(outro)));
+
+        assertThat(poucos).isEqualTo(1);
+        assertThat(muitos).isEqualTo(poucos);
+    }
+
+    @Test
+    void resumosSaoUmaUnicaConsulta() {
+        UserModel dono = criarImoveis(40);
+
+        assertThat(contarComandos(() -> serializar(repository.listarResumos()))).isEqualTo(1);
+        assertThat(contarComandos(() -> serializar(repository.listarResumosPorUsuario(dono.getId()))))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void capasDeUmaPaginaSaoUmaUnicaConsulta() {
+        criarImoveis(40);
+        List<Integer> ids = repository.findAll().stream().map(ImovelModel::getId).toList();
+        for (Integer id : ids) {
+            for (int ordem = 1; ordem <= 3; ordem++) {
+                FotoImovelModel f = new FotoImovelModel(null, "f.jpg", "c", ordem == 1, ordem);
+                f.setImovel(em.getEntityManager().getReference(ImovelModel.class, id));
+                em.persist(f);
+            }
+        }
+        em.flush();
+
+        assertThat(contarComandos(() -> fotoRepository.capasDosImoveis(ids))).isEqualTo(1);
+        assertThat(fotoRepository.capasDosImoveis(ids))
+                .extracting(CapaImovelDTO::imovelId)
+                .containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void detalheCarregaAssociacoesNoMesmoSelect() {
+        criarImoveis(1);
+        Integer id = repository.findAll().get(0).getId();
+        em.clear();
+
+        assertThat(contarComandos(() -> serializar(repository.findComAssociacoesById(id).orElseThrow())))
+                .isEqualTo(1);
+    }
+
+    // ========= AUXILIARES =========
+
+    /** Cria n imóveis, cada um com bairro e tipo próprios, de um novo usuário */
+    private UserModel criarImoveis(int n) {
+        UserModel dono = UsuariosDeTeste.corretor("Corretor " + sequencia, "corretor" + (sequencia++) + "@teste.com");
+        em.persist(dono);
+
+        for (int i = 0; i < n; i++) {
+            BairroModel bairro = new BairroModel();
+            bairro.setNome("Bairro " + sequencia + "-" + i);
+            em.persist(bairro);
+
+            TiposImoveisModel tipo = new TiposImoveisModel();
+            tipo.setNome("Tipo " + sequencia + "-" + i);
+            em.persist(tipo);
+
+            ImovelModel imovel = new ImovelModel();
+            imovel.setTitulo("Imóvel " + i);
+            imovel.setFinalidade("VENDA");
+            imovel.setStatus("ATIVO");
+            imovel.setPrecoVenda(BigDecimal.valueOf(100_000 + i));
+            imovel.setBairro(bairro);
+            imovel.setTipoImovel(tipo);
+            imovel.setUsuario(dono);
+            em.persist(imovel);
+        }
+        em.flush();
+        em.clear();
+        return dono;
+    }
+
+    private long contarComandos(Runnable acao) {
+        em.clear();
+        stats.clear();
+        acao.run();
+        return stats.getPrepareStatementCount();
+    }
+
+    /** Serializa como o controller faria, tocando todas as associações */
+    private void serializar(Object valor) {
+        try {
+            mapper.writeValueAsString(valor);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.Repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.example.demo.Models.ImovelModel;
+import com.example.demo.Models.UserModel;
+import com.example.demo.UsuariosDeTeste;
+
+/**
+ * Duas edições a partir da mesma leitura: a segunda tem que falhar
+ * (vira 409 no PATCH/PUT) em vez de sobrescrever a primeira.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class ImovelRepositoryVersaoTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ImovelRepository repository;
+
+    @Test
+    void edicaoComVersaoVelhaFalha() {
+        UserModel dono = UsuariosDeTeste.corretor();
+        em.persist(dono);
+
+        ImovelModel imovel = new ImovelModel();
+        imovel.setTitulo("Casa");
+        imovel.setUsuario(dono);
+        em.persist(imovel);
+        em.flush();
+        assertThat(imovel.getVersao()).isZero();
+        em.clear();
+
+        // as duas "abas" leram a versão 0
+        ImovelModel corretor = repository.findById(imovel.getId()).orElseThrow();
+        em.detach(corretor);
+        ImovelModel admin = repository.findById(imovel.getId()).orElseThrow();
+
+        admin.setStatus("VENDIDO");
+        repository.saveAndFlush(admin);
+        assertThat(admin.getVersao()).isEqualTo(1);
+        em.clear();
+
+        corretor.setTitulo("Casa reformada");
+        assertThatThrownBy(() -> repository.saveAndFlush(corretor))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+}
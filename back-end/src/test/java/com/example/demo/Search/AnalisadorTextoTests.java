@@ -0,0 +1,47 @@
+package com.example.demo.Search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Indexação e consulta passam pelo mesmo analisador: acento, caixa,
+ * plural e gênero não podem separar palavras que o usuário vê como iguais.
+ */
+class AnalisadorTextoTests {
+
+    @Test
+    void minusculasSemAcentoSemStopwords() {
+        assertThat(AnalisadorTexto.termos("Sacadá com VISTA para o mar, 3 quartos"))
+                .containsExactly("sacad", "vist", "mar", "quart");
+        assertThat(AnalisadorTexto.termos("   ")).isEmpty();
+        assertThat(AnalisadorTexto.termos(null)).isEmpty();
+        assertThat(AnalisadorTexto.termos("de a o e")).isEmpty();
+    }
+
+    @Test
+    void variacoesCaemNoMesmoRadical() {
+        String[][] grupos = {
+                {"sacada", "sacadá", "Sacadas", "sacado"},
+                {"apartamento", "apartamentos", "APARTAMENTO"},
+                {"piscina", "piscinas"},
+                {"construção", "construções", "construcao"},
+                {"suíte", "suites", "suíte"},
+        };
+        for (String[] grupo : grupos) {
+            String radical = AnalisadorTexto.termos(grupo[0]).get(0);
+            for (String palavra : grupo) {
+                assertThat(AnalisadorTexto.termos(palavra)).as(palavra).containsExactly(radical);
+            }
+        }
+        // palavras diferentes continuam diferentes
+        assertThat(AnalisadorTexto.termos("casa")).isNotEqualTo(AnalisadorTexto.termos("cama"));
+    }
+
+    @Test
+    void palavraCurtaNaoPerdeOFinal() {
+        assertThat(StemmerPortugues.stem("mar")).isEqualTo("mar");
+        assertThat(StemmerPortugues.stem("sol")).isEqualTo("sol");
+        assertThat(AnalisadorTexto.dobrarAcentos("ãéíôüç")).isEqualTo("aeiouc");
+    }
+}
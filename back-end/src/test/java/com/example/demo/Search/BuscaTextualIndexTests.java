@@ -0,0 +1,176 @@
+package com.example.demo.Search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.Models.ImovelModel;
+
+/**
+ * Índice invertido contra a conta feita na mão: quem casa (AND de todos os
+ * termos) e o score BM25 de cada um, com os pesos por campo; e o mesmo
+ * resultado depois de muitos updates/removes (incluindo compactações).
+ */
+class BuscaTextualIndexTests {
+
+    private static final String[] PALAVRAS = {
+            "sacada", "sacadas", "sacadá", "piscina", "piscinas", "apartamento", "apartamentos",
+            "churrasqueira", "varanda", "suíte", "suítes", "garagem", "quintal", "jardim",
+            "vista", "mar", "reformado", "reformada", "centro", "próximo", "metrô", "amplo",
+    };
+
+    private static final String[] CONSULTAS = {
+            "sacada", "Sacadá com piscina", "apartamentos reformados", "vista para o mar",
+            "suite churrasqueira quintal", "metro", "inexistente", "de o a",
+    };
+
+    private final Map<Integer, ImovelModel> imoveis = new LinkedHashMap<>();
+
+    private static String frase(Random r, int max) {
+        StringBuilder sb = new StringBuilder();
+        int n = r.nextInt(max + 1);
+        for (int i = 0; i < n; i++) sb.append(PALAVRAS[r.nextInt(PALAVRAS.length)]).append(' ');
+        return sb.toString();
+    }
+
+    private ImovelModel aleatorio(Random r, int id) {
+        ImovelModel m = new ImovelModel();
+        m.setId(id);
+        m.setTitulo(frase(r, 4));
+        m.setCaracteristicas(r.nextBoolean() ? frase(r, 6) : null);
+        m.setDescricao(frase(r, 20));
+        return m;
+    }
+
+    /** termo → tf ponderado (título 3, características 2, descrição 1) e tamanho do doc */
+    private static Map<String, Integer> tf(ImovelModel m, int[] tamanho) {
+        Map<String, Integer> tf = new HashMap<>();
+        String[] campos = {m.getTitulo(), m.getCaracteristicas(), m.getDescricao()};
+        int[] pesos = {3, 2, 1};
+        tamanho[0] = 0;
+        for (int c = 0; c < campos.length; c++) {
+            List<String> ts = AnalisadorTexto.termos(campos[c]);
+            for (String t : ts) tf.merge(t, pesos[c], Integer::sum);
+            tamanho[0] += ts.size() * pesos[c];
+        }
+        return tf;
+    }
+
+    /** id → score BM25, calculado direto sobre os imóveis vivos */
+    private Map<Integer, Float> forcaBruta(String consulta) {
+        List<String> q = List.copyOf(new LinkedHashSet<>(AnalisadorTexto.termos(consulta)));
+        Map<Integer, Map<String, Integer>> tfs = new HashMap<>();
+        Map<Integer, Integer> tamanhos = new HashMap<>();
+        long soma = 0;
+        for (ImovelModel m : imoveis.values()) {
+            int[] tamanho = new int[1];
+            tfs.put(m.getId(), tf(m, tamanho));
+            tamanhos.put(m.getId(), tamanho[0]);
+            soma += tamanho[0];
+        }
+        int n = imoveis.size();
+        double media = n == 0 ? 1 : (double) soma / n;
+
+        Map<Integer, Float> r = new HashMap<>();
+        for (Integer id : imoveis.keySet()) {
+            Map<String, Integer> tf = tfs.get(id);
+            if (!q.stream().allMatch(tf::containsKey)) continue;
+            double score = 0;
+            for (String t : q) {
+                long df = tfs.values().stream().filter(x -> x.containsKey(t)).count();
+                double idf = Math.max(Math.log(1 + (n - df + 0.5) / (df + 0.5)), 0.0001);
+                int f = tf.get(t);
+                score += idf * f * (1.2 + 1) / (f + 1.2 * (1 - 0.75 + 0.75 * tamanhos.get(id) / media));
+            }
+            r.put(id, (float) score);
+        }
+        return r;
+    }
+
+    private static Map<Integer, Float> comoMapa(ResultadoTextual r) {
+        Map<Integer, Float> m = new HashMap<>();
+        for (int i = 0; i < r.tamanho(); i++) m.put(r.imoveis()[i], r.scores()[i]);
+        return m;
+    }
+
+    @Test
+    void bm25BateComAContaFeitaNaMao() {
+        Random r = new Random(23);
+        for (int id = 1; id <= 400; id++) imoveis.put(id, aleatorio(r, id));
+        BuscaTextualIndex index = new BuscaTextualIndex();
+        index.reconstruir(imoveis.values());
+
+        for (String consulta : CONSULTAS) {
+            ResultadoTextual resultado = index.buscar(consulta);
+            if (AnalisadorTexto.termos(consulta).isEmpty()) {
+                assertThat(resultado).as(consulta).isNull();
+                continue;
+            }
+            Map<Integer, Float> esperado = forcaBruta(consulta);
+            Map<Integer, Float> obtido = comoMapa(resultado);
+            assertThat(obtido.keySet()).as(consulta).isEqualTo(esperado.keySet());
+            esperado.forEach((id, score) ->
+                    assertThat(obtido.get(id)).as(consulta + " #" + id).isCloseTo(score, within(1e-3f)));
+        }
+    }
+
+    @Test
+    void acentoEFlexaoNaoAtrapalham() {
+        ImovelModel m = new ImovelModel();
+        m.setId(1);
+        m.setTitulo("Apartamento com sacadá");
+        m.setDescricao("Piscinas e churrasqueira");
+        ImovelModel outro = new ImovelModel();
+        outro.setId(2);
+        outro.setTitulo("Casa térrea");
+        BuscaTextualIndex index = new BuscaTextualIndex();
+        index.reconstruir(List.of(m, outro));
+
+        for (String q : List.of("sacada", "SACADAS", "apartamentos", "piscina sacada", "churrasqueiras")) {
+            assertThat(index.buscar(q).imoveis()).as(q).containsExactly(1);
+        }
+        assertThat(index.buscar("sacada terrea").imoveis()).isEmpty();
+    }
+
+    @Test
+    void atualizacoesERemocoesBatemComAForcaBruta() {
+        Random r = new Random(31);
+        for (int id = 1; id <= 300; id++) imoveis.put(id, aleatorio(r, id));
+        BuscaTextualIndex index = new BuscaTextualIndex();
+        index.reconstruir(imoveis.values());
+
+        // bastante rotatividade para passar do mínimo e compactar algumas vezes
+        for (int i = 0; i < 6000; i++) {
+            int id = 1 + r.nextInt(400);
+            if (r.nextInt(4) == 0) {
+                imoveis.remove(id);
+                index.remover(id);
+            } else {
+                ImovelModel m = aleatorio(r, id);
+                imoveis.put(id, m);
+                index.atualizar(m);
+            }
+        }
+
+        for (String consulta : CONSULTAS) {
+            ResultadoTextual resultado = index.buscar(consulta);
+            if (resultado == null) continue;
+            assertThat(comoMapa(resultado).keySet()).as(consulta).isEqualTo(forcaBruta(consulta).keySet());
+        }
+
+        // depois de reconstruir do zero o score volta a bater exatamente
+        index.reconstruir(imoveis.values());
+        Map<Integer, Float> esperado = forcaBruta("sacada piscina");
+        Map<Integer, Float> obtido = comoMapa(index.buscar("sacada piscina"));
+        assertThat(obtido.keySet()).isEqualTo(esperado.keySet());
+        esperado.forEach((id, score) -> assertThat(obtido.get(id)).isCloseTo(score, within(1e-3f)));
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.demo.Search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.Models.BairroModel;
+import com.example.demo.Models.ImovelModel;
+import com.example.demo.Models.TiposImoveisModel;
+import com.example.demo.dtos.FacetasDTO;
+import com.example.demo.dtos.ImovelCursor;
+import com.example.demo.dtos.ImovelFiltroDTO;
+import com.example.demo.dtos.OrdenacaoImovel;
+import com.example.demo.dtos.PaginaCursorDTO;
+
+/**
+ * Busca do índice colunar contra a resposta "na força bruta" (filtrar e
+ * ordenar a lista inteira): páginas por cursor sem buraco nem repetição,
+ * empates de preço desempatados pelo id, atualizações/remoções refletidas e
+ * as contagens das facetas.
+ */
+class CatalogoIndexTests {
+
+    private final CatalogoIndex index = new CatalogoIndex();
+    private final Map<Integer, ImovelModel> imoveis = new LinkedHashMap<>();
+
+    private void carregar(int qtd, long semente) {
+        Random r = new Random(semente);
+        for (int id = 1; id <= qtd; id++) {
+            ImovelModel m = new ImovelModel();
+            m.setId(id);
+            m.setFinalidade("VENDA");
+            m.setStatus(r.nextInt(4) == 0 ? "VENDIDO" : "ATIVO");
+            // poucos preços distintos para forçar empates; alguns sem preço
+            m.setPrecoVenda(r.nextInt(10) == 0 ? null : BigDecimal.valueOf(100_000 + r.nextInt(12) * 25_000));
+            m.setDormitorios(r.nextInt(5));
+            imoveis.put(id, m);
+        }
+        index.reconstruir(imoveis.values());
+    }
+
+    /** Junta todas as páginas seguindo o proximoCursor */
+    private List<Integer> todasAsPaginas(ImovelFiltroDTO f, OrdenacaoImovel ordem, int tamanho) {
+        List<Integer> ids = new ArrayList<>();
+        ImovelCursor cursor = null;
+        for (int guarda = 0; guarda < 10_000; guarda++) {
+            PaginaCursorDTO<Integer> p = index.buscar(f, ordem, cursor, tamanho, null);
+            assertThat(p.itens().size()).isLessThanOrEqualTo(tamanho);
+            ids.addAll(p.itens());
+            if (!p.temMais()) return ids;
+            assertThat(p.itens()).hasSize(tamanho);
+            cursor = ImovelCursor.decodificar(p.proximoCursor());
+        }
+        throw new AssertionError("paginação não terminou");
+    }
+
+    private List<Integer> forcaBruta(Predicate<ImovelModel> filtro, OrdenacaoImovel ordem) {
+        Comparator<ImovelModel> porId = Comparator.comparing(ImovelModel::getId);
+        Comparator<ImovelModel> c = ordem.isPorPreco()
+                ? Comparator.comparing(ImovelModel::getPrecoVenda).thenComparing(porId)
+                : porId;
+        if (!ordem.isAscendente()) c = c.reversed();
+        return imoveis.values().stream()
+                .filter(filtro)
+                .filter(m -> !ordem.isPorPreco() || m.getPrecoVenda() != null)
+                .sorted(c)
+                .map(ImovelModel::getId)
+                .toList();
+    }
+
+    private static ImovelFiltroDTO filtro(String status, Integer precoMin, Integer precoMax) {
+        ImovelFiltroDTO f = new ImovelFiltroDTO();
+        f.setFinalidade("VENDA");
+        f.setStatus(status);
+        if (precoMin != null) f.setPrecoMin(BigDecimal.valueOf(precoMin));
+        if (precoMax != null) f.setPrecoMax(BigDecimal.valueOf(precoMax));
+        return f;
+    }
+
+    @Test
+    void cursorPercorreTudoNaOrdemCertaComEmpates() {
+        carregar(500, 42);
+        for (OrdenacaoImovel ordem : List.of(OrdenacaoImovel.MENOR_PRECO, OrdenacaoImovel.MAIOR_PRECO,
+                OrdenacaoImovel.RECENTES)) {
+            assertThat(todasAsPaginas(filtro(null, null, null), ordem, 17))
+                    .as(ordem.name())
+                    .containsExactlyElementsOf(forcaBruta(m -> true, ordem));
+        }
+    }
+
+    @Test
+    void topKPorPrecoComFaixaEStatusBateComAForcaBruta() {
+        carregar(2000, 7);
+        // faixa larga (anda pela lista ordenada) e faixa estreita + status (pode cair na varredura)
+        int[][] faixas = { {100_000, 400_000}, {200_000, 225_000}, {0, 1_000_000} };
+        for (int[] faixa : faixas) {
+            for (OrdenacaoImovel ordem : List.of(OrdenacaoImovel.MENOR_PRECO, OrdenacaoImovel.MAIOR_PRECO)) {
+                Predicate<ImovelModel> naFaixa = m -> m.getPrecoVenda() != null
+                        && m.getPrecoVenda().intValue() >= faixa[0] && m.getPrecoVenda().intValue() <= faixa[1]
+                        && "ATIVO".equals(m.getStatus());
+                List<Integer> esperado = forcaBruta(naFaixa, ordem);
+
+                PaginaCursorDTO<Integer> primeira = index.buscar(filtro("ATIVO", faixa[0], faixa[1]), ordem,
+                        null, 10, null);
+                assertThat(primeira.itens()).containsExactlyElementsOf(esperado.subList(0, Math.min(10, esperado.size())));
+                assertThat(todasAsPaginas(filtro("ATIVO", faixa[0], faixa[1]), ordem, 10))
+                        .containsExactlyElementsOf(esperado);
+            }
+        }
+    }
+
+    @Test
+    void facetasBatemComAContagemNaForcaBruta() {
+        Random r = new Random(13);
+        List<ImovelModel> todos = new ArrayList<>();
+        for (int id = 1; id <= 1500; id++) {
+            ImovelModel m = new ImovelModel();
+            m.setId(id);
+            m.setFinalidade(r.nextBoolean() ? "VENDA" : "ALUGUEL");
+            m.setStatus(r.nextInt(5) == 0 ? "INATIVO" : "ATIVO");
+            BairroModel bairro = new BairroModel();
+            bairro.setId(1 + r.nextInt(6));
+            m.setBairro(bairro);
+            m.setTipoImovel(r.nextInt(8) == 0 ? null : new TiposImoveisModel(1 + r.nextInt(4), "t", null));
+            m.setPrecoVenda(r.nextInt(8) == 0 ? null : BigDecimal.valueOf(50_000 + r.nextInt(120) * 25_000));
+            m.setPrecoAluguel(r.nextInt(8) == 0 ? null : BigDecimal.valueOf(500 + r.nextInt(60) * 250));
+            m.setAreaTotal(r.nextInt(10) == 0 ? null : BigDecimal.valueOf(30 + r.nextInt(400)));
+            m.setDormitorios(r.nextInt(10) == 0 ? null : r.nextInt(6));
+            m.setGaragem(r.nextInt(3));
+            todos.add(m);
+        }
+        index.reconstruir(todos);
+
+        List<ImovelFiltroDTO> filtros = new ArrayList<>();
+        filtros.add(new ImovelFiltroDTO());
+        ImovelFiltroDTO venda = filtro("ATIVO", 300_000, 1_500_000);
+        venda.setBairroId(2);
+        venda.setDormitoriosMin(2);
+        venda.setAreaMin(BigDecimal.valueOf(60));
+        filtros.add(venda);
+        ImovelFiltroDTO aluguel = new ImovelFiltroDTO();
+        aluguel.setFinalidade("aluguel");
+        aluguel.setTipoImovelId(3);
+        aluguel.setPrecoMax(BigDecimal.valueOf(4_000));
+        aluguel.setGaragemMin(1);
+        filtros.add(aluguel);
+
+        for (ImovelFiltroDTO f : filtros) {
+            boolean naAluguel = f.isAluguel();
+            Predicate<ImovelModel> status = m -> f.getStatus() == null || f.getStatus().equalsIgnoreCase(m.getStatus());
+            Predicate<ImovelModel> fin = m -> f.getFinalidade() == null || f.getFinalidade().equalsIgnoreCase(m.getFinalidade());
+            Predicate<ImovelModel> bai = m -> f.getBairroId() == null || f.getBairroId().equals(m.getBairro().getId());
+            Predicate<ImovelModel> tip = m -> f.getTipoImovelId() == null
+                    || (m.getTipoImovel() != null && f.getTipoImovelId().equals(m.getTipoImovel().getId()));
+            Predicate<ImovelModel> preco = m -> {
+                BigDecimal p = naAluguel ? m.getPrecoAluguel() : m.getPrecoVenda();
+                return (f.getPrecoMin() == null || (p != null && p.compareTo(f.getPrecoMin()) >= 0))
+                        && (f.getPrecoMax() == null || (p != null && p.compareTo(f.getPrecoMax()) <= 0));
+            };
+            Predicate<ImovelModel> dorm = m -> f.getDormitoriosMin() == null
+                    || (m.getDormitorios() != null && m.getDormitorios() >= f.getDormitoriosMin());
+            Predicate<ImovelModel> resto = m -> (f.getAreaMin() == null
+                    || (m.getAreaTotal() != null && m.getAreaTotal().compareTo(f.getAreaMin()) >= 0))
+                    && (f.getGaragemMin() == null || (m.getGaragem() != null && m.getGaragem() >= f.getGaragemMin()));
+
+            FacetasDTO facetas = index.facetas(f, null);
+
+            assertThat(facetas.total()).isEqualTo(
+                    (int) todos.stream().filter(status.and(fin).and(bai).and(tip).and(preco).and(dorm).and(resto)).count());
+            assertThat(facetas.finalidades()).isEqualTo(contar(todos, status.and(bai).and(tip).and(dorm).and(resto),
+                    ImovelModel::getFinalidade));
+            assertThat(facetas.bairros()).isEqualTo(contar(todos, status.and(fin).and(tip).and(preco).and(dorm).and(resto),
+                    m -> m.getBairro().getId()));
+            assertThat(facetas.tipos()).isEqualTo(contar(todos, status.and(fin).and(bai).and(preco).and(dorm).and(resto),
+                    m -> m.getTipoImovel() == null ? null : m.getTipoImovel().getId()));
+            assertThat(facetas.dormitorios()).isEqualTo(contar(todos, status.and(fin).and(bai).and(tip).and(preco).and(resto),
+                    ImovelModel::getDormitorios));
+
+            long[] limites = naAluguel
+                    ? new long[] {0, 1_000, 2_000, 3_500, 5_000, 10_000}
+                    : new long[] {0, 200_000, 400_000, 700_000, 1_000_000, 2_000_000};
+            int[] esperadoFaixa = new int[limites.length];
+            for (ImovelModel m : todos) {
+                BigDecimal p = naAluguel ? m.getPrecoAluguel() : m.getPrecoVenda();
+                if (p == null || !status.and(fin).and(bai).and(tip).and(dorm).and(resto).test(m)) continue;
+                int i = limites.length - 1;
+                while (i > 0 && p.compareTo(BigDecimal.valueOf(limites[i])) < 0) i--;
+                esperadoFaixa[i]++;
+            }
+            assertThat(facetas.precos()).extracting(FacetasDTO.FaixaPreco::quantidade)
+                    .containsExactly(Arrays.stream(esperadoFaixa).boxed().toArray(Integer[]::new));
+        }
+    }
+
+    /** valor → quantidade, sem os valores nulos e sem zeros */
+    private static <K> Map<K, Integer> contar(List<ImovelModel> todos, Predicate<ImovelModel> filtro,
+                                              Function<ImovelModel, K> valor) {
+        Map<K, Integer> r = new HashMap<>();
+        for (ImovelModel m : todos) {
+            K k = valor.apply(m);
+            if (k != null && filtro.test(m)) r.merge(k, 1, Integer::sum);
+        }
+        return r;
+    }
+
+    @Test
+    void atualizacaoERemocaoAparecemNaBusca() {
+        carregar(200, 3);
+
+        // muda preço e status: os bitsets antigos do slot têm que ser desmarcados
+        ImovelModel m = imoveis.get(10);
+        m.setStatus("VENDIDO");
+        m.setPrecoVenda(BigDecimal.valueOf(1));
+        index.atualizar(m);
+        ImovelModel outro = imoveis.get(20);
+        outro.setStatus("ATIVO");
+        outro.setPrecoVenda(BigDecimal.valueOf(100_000));
+        index.atualizar(outro);
+
+        // remove e reaproveita o slot com outro imóvel
+        index.remover(30);
+        imoveis.remove(30);
+        ImovelModel novo = new ImovelModel();
+        novo.setId(999);
+        novo.setFinalidade("VENDA");
+        novo.setStatus("ATIVO");
+        novo.setPrecoVenda(BigDecimal.valueOf(100_000));
+        imoveis.put(999, novo);
+        index.atualizar(novo);
+
+        assertThat(index.tamanho()).isEqualTo(200);
+        for (OrdenacaoImovel ordem : List.of(OrdenacaoImovel.MENOR_PRECO, OrdenacaoImovel.MAIOR_PRECO)) {
+            assertThat(todasAsPaginas(filtro("ATIVO", null, null), ordem, 13))
+                    .as(ordem.name())
+                    .containsExactlyElementsOf(forcaBruta(i -> "ATIVO".equals(i.getStatus()), ordem));
+            assertThat(todasAsPaginas(filtro("VENDIDO", null, null), ordem, 13))
+                    .as(ordem.name())
+                    .containsExactlyElementsOf(forcaBruta(i -> "VENDIDO".equals(i.getStatus()), ordem));
+        }
+        assertThat(index.buscar(filtro("VENDIDO", null, null), OrdenacaoImovel.MENOR_PRECO, null, 1, null).itens())
+                .containsExactly(10);
+    }
+
+    @Test
+    void limitesDeAreaAcimaDeUmIntNaoEstouram() {
+        carregar(50, 9);
+        ImovelModel grande = imoveis.get(5);
+        grande.setAreaTotal(new BigDecimal("30000000.00")); // 3e9 centésimos de m²
+        index.atualizar(grande);
+
+        ImovelFiltroDTO f = filtro(null, null, null);
+        f.setAreaMax(new BigDecimal("25000000"));
+        assertThat(todasAsPaginas(f, OrdenacaoImovel.RECENTES, 10)).doesNotContain(5);
+
+        f.setAreaMax(null);
+        f.setAreaMin(new BigDecimal("25000000"));
+        assertThat(todasAsPaginas(f, OrdenacaoImovel.RECENTES, 10)).containsExactly(5);
+    }
+}
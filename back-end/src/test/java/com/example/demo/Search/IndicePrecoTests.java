@@ -0,0 +1,106 @@
+package com.example.demo.Search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A coluna ordenada tem que ficar igual a ordenar (preço, id) na força
+ * bruta, tanto montada por inserções/remoções quanto pela carga em lote.
+ */
+class IndicePrecoTests {
+
+    private record Linha(long preco, int id, int slot) {}
+
+    private static final Comparator<Linha> ORDEM =
+            Comparator.comparingLong(Linha::preco).thenComparingInt(Linha::id);
+
+    private static List<Linha> conteudo(IndicePreco indice, List<Linha> todas) {
+        List<Linha> r = new ArrayList<>(indice.tamanho());
+        for (int i = 0; i < indice.tamanho(); i++) {
+            int slot = indice.slot(i);
+            Linha l = todas.stream().filter(x -> x.slot() == slot).findFirst().orElseThrow();
+            assertThat(indice.preco(i)).isEqualTo(l.preco());
+            r.add(l);
+        }
+        return r;
+    }
+
+    @Test
+    void insercoesERemocoesMantemAOrdemComEmpates() {
+        Random r = new Random(11);
+        IndicePreco indice = new IndicePreco(4); // começa pequeno para crescer no caminho
+        List<Linha> vivas = new ArrayList<>();
+        List<Linha> todas = new ArrayList<>();
+        for (int slot = 0; slot < 1000; slot++) {
+            Linha l = new Linha(r.nextInt(20) * 1000L, r.nextInt(5000), slot);
+            todas.add(l);
+            vivas.add(l);
+            indice.inserir(l.preco(), l.id(), l.slot());
+            if (r.nextInt(3) == 0) {
+                Linha fora = vivas.remove(r.nextInt(vivas.size()));
+                indice.remover(fora.preco(), fora.id());
+            }
+        }
+        // remover o que não está lá não mexe em nada
+        indice.remover(-5, 1);
+
+        vivas.sort(ORDEM);
+        assertThat(conteudo(indice, todas)).extracting(Linha::preco, Linha::id)
+                .containsExactlyElementsOf(vivas.stream()
+                        .map(l -> tuple(l.preco(), l.id())).toList());
+    }
+
+    @Test
+    void faixasEPosicaoDoCursor() {
+        IndicePreco indice = new IndicePreco(16);
+        long[] precos = {500, 100, 300, 300, 300, 200, 500};
+        int[] ids = {7, 1, 5, 3, 4, 2, 6};
+        for (int i = 0; i < precos.length; i++) indice.inserir(precos[i], ids[i], i);
+        // ordem: (100,1) (200,2) (300,3) (300,4) (300,5) (500,6) (500,7)
+
+        assertThat(indice.inicioDaFaixa(300)).isEqualTo(2);
+        assertThat(indice.fimDaFaixa(300)).isEqualTo(5);
+        assertThat(indice.inicioDaFaixa(301)).isEqualTo(5);
+        assertThat(indice.fimDaFaixa(Long.MAX_VALUE)).isEqualTo(7);
+
+        // cursor no meio de um empate: continua no próximo id do mesmo preço
+        assertThat(indice.depoisDe(300, 3)).isEqualTo(3);
+        assertThat(indice.primeiraPosicao(300, 4)).isEqualTo(3);
+        assertThat(indice.depoisDe(300, Integer.MAX_VALUE)).isEqualTo(5);
+    }
+
+    @Test
+    void cargaEmLoteIgualAInsercoes() {
+        Random r = new Random(5);
+        int n = 3000;
+        long nulo = -1;
+        long[] coluna = new long[n];
+        int[] ids = new int[n];
+        BitSet ocupados = new BitSet();
+        IndicePreco incremental = new IndicePreco(16);
+        for (int s = 0; s < n; s++) {
+            ids[s] = s * 3 + 1;
+            coluna[s] = r.nextInt(8) == 0 ? nulo : r.nextInt(50) * 100L;
+            if (r.nextInt(10) == 0) continue; // slot livre
+            ocupados.set(s);
+            if (coluna[s] != nulo) incremental.inserir(coluna[s], ids[s], s);
+        }
+
+        IndicePreco lote = new IndicePreco(16);
+        lote.reconstruir(coluna, ids, ocupados, nulo);
+
+        assertThat(lote.tamanho()).isEqualTo(incremental.tamanho());
+        for (int i = 0; i < lote.tamanho(); i++) {
+            assertThat(lote.slot(i)).isEqualTo(incremental.slot(i));
+            assertThat(lote.preco(i)).isEqualTo(incremental.preco(i));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.Search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Varint dos deltas: o que entra tem que sair igual, inclusive deltas e
+ * frequências que precisam de 2, 3 ou 5 bytes.
+ */
+class ListaPostingsTests {
+
+    @Test
+    void decodificaExatamenteOQueFoiAdicionado() {
+        Random r = new Random(17);
+        int n = 20_000;
+        int[] docs = new int[n];
+        int[] tfs = new int[n];
+        ListaPostings lista = new ListaPostings();
+        int doc = -1;
+        for (int i = 0; i < n; i++) {
+            // maioria de saltos pequenos, alguns enormes
+            int salto = switch (r.nextInt(10)) {
+                case 0 -> 1 + r.nextInt(1 << 20);
+                case 1 -> 128 + r.nextInt(16_384);
+                default -> 1 + r.nextInt(100);
+            };
+            doc += salto;
+            docs[i] = doc;
+            tfs[i] = r.nextInt(20) == 0 ? r.nextInt(Integer.MAX_VALUE) : 1 + r.nextInt(5);
+            lista.adicionar(docs[i], tfs[i]);
+        }
+
+        int[] outDocs = new int[lista.df()];
+        int[] outTfs = new int[lista.df()];
+        lista.decodificar(outDocs, outTfs);
+        assertThat(lista.df()).isEqualTo(n);
+        assertThat(outDocs).containsExactly(docs);
+        assertThat(outTfs).containsExactly(tfs);
+
+        lista.ajustar();
+        lista.decodificar(outDocs, outTfs);
+        assertThat(outDocs).containsExactly(docs);
+    }
+
+    @Test
+    void docsSeguidosOcupamDoisBytesCada() {
+        ListaPostings lista = new ListaPostings();
+        for (int d = 0; d < 1000; d++) lista.adicionar(d, 1);
+        assertThat(lista.bytesUsados()).isEqualTo(2000);
+
+        lista.adicionar(1000 + 200, 300); // delta e tf com 2 bytes cada
+        assertThat(lista.bytesUsados()).isEqualTo(2004);
+    }
+}
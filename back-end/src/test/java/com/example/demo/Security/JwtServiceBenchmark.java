@@ -0,0 +1,78 @@
+package com.example.demo.Security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.demo.UsuariosDeTeste;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Custo de validar o mesmo token repetidas vezes (um usuário navegando):
+ *
+ *  - chaveEParserPorChamada: como era antes (chave e parser novos a cada requisição)
+ *  - parserReutilizado: chave/parser montados uma vez, assinatura conferida sempre
+ *  - cacheDeVerificados: JwtService.validateAndGetClaims (SHA-256 + lookup no cache)
+ *
+ * Rodar: mvn -q test-compile, depois executar o main desta classe com o
+ * classpath de teste (pela IDE, ou java -cp target/test-classes:target/classes:...).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SEGREDO = "uma-senha-bem-grande-e-secreta-aqui-123456";
+
+    private JwtService service;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        service = new JwtService(SEGREDO, 3_600_000L, 10_000);
+        token = service.generateToken(UsuariosDeTeste.corretor());
+    }
+
+    @Benchmark
+    public Object chaveEParserPorChamada() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SEGREDO.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Object parserReutilizado() {
+        return service.verificar(token);
+    }
+
+    @Benchmark
+    public Object cacheDeVerificados() {
+        return service.validateAndGetClaims(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
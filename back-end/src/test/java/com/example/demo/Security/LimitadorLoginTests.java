@@ -0,0 +1,60 @@
+package com.example.demo.Security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A ficha é reservada antes do BCrypt: uma rajada paralela para o mesmo
+ * e-mail não pode passar do limite só porque nenhuma falha foi registrada ainda.
+ */
+class LimitadorLoginTests {
+
+    @Test
+    void rajadaParalelaRespeitaOLimiteDoEmail() throws Exception {
+        LimitadorLogin limitador = new LimitadorLogin(5, 300_000, 1000, 300_000);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Long>> tentativas = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String ip = "10.0.0." + i;
+                tentativas.add(pool.submit(() -> {
+                    largada.await();
+                    return limitador.tentar("Alvo@Teste.com", ip);
+                }));
+            }
+            largada.countDown();
+
+            int liberadas = 0;
+            for (Future<Long> f : tentativas) {
+                if (f.get() == 0) liberadas++;
+                else assertThat(f.get()).isPositive();
+            }
+            assertThat(liberadas).isEqualTo(5);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void loginCertoDevolveAsFichas() {
+        LimitadorLogin limitador = new LimitadorLogin(2, 300_000, 3, 300_000);
+        assertThat(limitador.tentar("a@teste.com", "1.1.1.1")).isZero();
+        assertThat(limitador.tentar("a@teste.com", "1.1.1.1")).isZero();
+        assertThat(limitador.tentar("a@teste.com", "1.1.1.1")).isPositive();
+
+        limitador.registrarSucesso("a@teste.com", "1.1.1.1");
+        assertThat(limitador.tentar("a@teste.com", "1.1.1.1")).isZero();
+        // o IP tinha 2 de 3 gastas; o sucesso devolveu 1 e a última tentativa gastou de novo
+        assertThat(limitador.tentar("b@teste.com", "1.1.1.1")).isZero();
+        assertThat(limitador.tentar("c@teste.com", "1.1.1.1")).isPositive();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.Security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Roda de tempo, TTLs, LRU e snapshot do SessionService com relógio falso
+ * (nada de sleep: o teste anda o relógio e a roda processa os ticks).
+ */
+class SessionServiceTests {
+
+    private static final long S = 1000;
+    private static final long HORA = 3600 * S;
+
+    /** Relógio controlado pelo teste (começa fora de um múltiplo de 1 s de propósito) */
+    private long agora = 1_700_000_000_123L;
+
+    private SessionService sessoes(long ttlAbsoluto, long ttlOcioso, int capacidade, String snapshot) {
+        return new SessionService(ttlAbsoluto, ttlOcioso, capacidade, snapshot, () -> agora);
+    }
+
+    @Test
+    void expiraPorOciosidadeMasUsoRenovaOPrazo() {
+        SessionService s = sessoes(10 * HORA, 30 * S, 100, "");
+        String token = s.create(7);
+
+        for (int i = 0; i < 5; i++) {
+            agora += 29 * S;
+            assertThat(s.getUserId(token)).isEqualTo(7);
+        }
+        agora += 31 * S;
+        assertThat(s.metricas().tamanho()).isZero();
+        assertThat(s.getUserId(token)).isNull();
+        assertThat(s.metricas().expiradasOcioso()).isEqualTo(1);
+        assertThat(s.metricas().expiradasAbsoluto()).isZero();
+    }
+
+    @Test
+    void expiraPeloTtlAbsolutoMesmoEmUso() {
+        SessionService s = sessoes(100 * S, 60 * S, 100, "");
+        String token = s.create(7);
+
+        agora += 50 * S;
+        assertThat(s.getUserId(token)).isEqualTo(7);
+        agora += 49 * S;
+        assertThat(s.getUserId(token)).isEqualTo(7);
+        agora += 2 * S;
+        assertThat(s.getUserId(token)).isNull();
+        assertThat(s.metricas().expiradasAbsoluto()).isEqualTo(1);
+    }
+
+    @Test
+    void prazoNosNiveisAltosDesceEmCascataAteExpirar() {
+        // 64^2 = 4096 ticks: um prazo de ~5 h começa no nível 2 e tem que descer até o 0
+        long ttl = 5 * HORA;
+        SessionService s = sessoes(ttl, ttl, 100, "");
+        s.create(1);
+        agora += 1500 * S;
+        s.create(2);
+
+        // só a roda expira (metricas() avança os ticks; ninguém chama getUserId)
+        agora += ttl - 1500 * S - S;
+        assertThat(s.metricas().tamanho()).isEqualTo(2);
+        agora += 2 * S;
+        assertThat(s.metricas().tamanho()).isEqualTo(1);
+        agora += 1500 * S;
+        assertThat(s.metricas().tamanho()).isZero();
+        assertThat(s.metricas().expiradasAbsoluto()).isEqualTo(2);
+        assertThat(s.entradasNaRoda()).isZero();
+    }
+
+    @Test
+    void despejaAMenosUsadaRecentementeAoPassarDaCapacidade() {
+        SessionService s = sessoes(HORA, HORA, 2, "");
+        String a = s.create(1);
+        String b = s.create(2);
+        assertThat(s.getUserId(a)).isEqualTo(1); // a fica mais recente que b
+
+        String c = s.create(3);
+        assertThat(s.getUserId(b)).isNull();
+        assertThat(s.getUserId(a)).isEqualTo(1);
+        assertThat(s.getUserId(c)).isEqualTo(3);
+        assertThat(s.metricas().despejadasLru()).isEqualTo(1);
+    }
+
+    @Test
+    void rodaNaoCresceComARotatividade() {
+        SessionService s = sessoes(12 * HORA, 12 * HORA, 1000, "");
+        // rotação de refresh: cada sessão é consumida e troca por outra, por horas a fio
+        String token = s.create(1);
+        for (int i = 0; i < 50_000; i++) {
+            assertThat(s.consumir(token)).isEqualTo(1);
+            token = s.create(1);
+            agora += 100;
+        }
+        assertThat(s.metricas().tamanho()).isEqualTo(1);
+        assertThat(s.entradasNaRoda()).isLessThan(200);
+    }
+
+    @Test
+    void consumirFuncionaUmaVezSo() {
+        SessionService s = sessoes(HORA, HORA, 100, "");
+        String token = s.create(9);
+        assertThat(s.consumir(token)).isEqualTo(9);
+        assertThat(s.consumir(token)).isNull();
+        assertThat(s.getUserId(token)).isNull();
+    }
+
+    @Test
+    void snapshotRestauraAsVivasNaSubida(@TempDir Path dir) throws Exception {
+        String arquivo = dir.resolve("sessoes.log").toString();
+
+        SessionService antes = sessoes(HORA, HORA, 100, arquivo);
+        antes.carregar();
+        String viva = antes.create(1);
+        String removida = antes.create(2);
+        antes.delete(removida);
+        antes.fechar();
+        assertThat(Files.exists(Path.of(arquivo))).isTrue();
+
+        agora += 10 * S;
+        SessionService depois = sessoes(HORA, HORA, 100, arquivo);
+        depois.carregar();
+        assertThat(depois.getUserId(viva)).isEqualTo(1);
+        assertThat(depois.getUserId(removida)).isNull();
+
+        // o TTL absoluto continua contando da criação original
+        agora += HORA;
+        assertThat(depois.getUserId(viva)).isNull();
+        depois.fechar();
+    }
+}
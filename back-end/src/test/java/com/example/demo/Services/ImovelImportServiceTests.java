@@ -0,0 +1,104 @@
+package com.example.demo.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.Models.BairroModel;
+import com.example.demo.Models.TiposImoveisModel;
+import com.example.demo.Models.UserModel;
+import com.example.demo.Repositories.BairroRepository;
+import com.example.demo.Repositories.ImovelRepository;
+import com.example.demo.Repositories.TiposImoveisRepository;
+import com.example.demo.Repositories.UserRepository;
+import com.example.demo.UsuariosDeTeste;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * A importação não pode ir ao banco por linha: bairro/tipo/CEP vêm de memória
+ * e os INSERTs saem em batch. Linhas ruins viram erro no relatório.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "api.imoveis.import.lote=100"
+})
+@Import({ ImovelImportService.class, BairroService.class, TiposImoveisService.class,
+        GeoService.class, ObjectMapper.class })
+// cada lote commita na sua própria transação, como em produção
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImovelImportServiceTests {
+
+    @Autowired
+    private ImovelImportService importService;
+
+    @Autowired
+    private ImovelRepository imovelRepository;
+
+    @Autowired
+    private BairroRepository bairroRepository;
+
+    @Autowired
+    private TiposImoveisRepository tiposRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @MockitoBean
+    private ImovelService imovelService;
+
+    @Test
+    void csvEmLotesComRelatorioPorLinha() throws Exception {
+        UserModel dono = userRepository.save(UsuariosDeTeste.corretor("Parceiro", "parceiro@teste.com"));
+
+        BairroModel centro = new BairroModel();
+        centro.setNome("Centro");
+        centro = bairroRepository.save(centro);
+        TiposImoveisModel casa = new TiposImoveisModel();
+        casa.setNome("Casa");
+        tiposRepository.save(casa);
+
+        StringBuilder csv = new StringBuilder("titulo,finalidade,precoVenda,dormitorios,bairroId,tipoImovel,descricao\r\n");
+        for (int i = 0; i < 250; i++) {
+            csv.append("Casa ").append(i).append(",VENDA,350000.00,3,").append(centro.getId())
+                    .append(",casa,\"ampla, com quintal\ne \"\"edícula\"\"\"\r\n");
+        }
+        csv.append("Sem bairro,VENDA,1,1,99999,Casa,\r\n");      // bairro inexistente
+        csv.append("Preço torto,VENDA,abc,1,,Casa,\r\n");        // número inválido
+        csv.append(",ALUGUEL,1,1,,,\r\n");                       // sem título
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        ImovelImportService.Relatorio r = importService.importar(ImovelImportService.CSV,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), dono);
+
+        assertThat(r.linhas()).isEqualTo(253);
+        assertThat(r.importados()).isEqualTo(250);
+        assertThat(r.rejeitados()).isEqualTo(3);
+        // cada registro ocupa duas linhas físicas (descrição com quebra de linha)
+        assertThat(r.erros()).extracting(ImovelImportService.ErroLinha::linha).containsExactly(502L, 503L, 504L);
+        assertThat(imovelRepository.count()).isEqualTo(250);
+        assertThat(imovelRepository.findAll().get(0).getDescricao()).isEqualTo("ampla, com quintal\ne \"edícula\"");
+
+        // 3 lotes: blocos de ids + INSERTs em batch + leitura única de bairros/tipos; nada por linha
+        assertThat(stats.getPrepareStatementCount()).isLessThan(40);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.Storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Upload deduplicado x remoção do mesmo hash: enquanto alguém gravou e ainda
+ * não soltou o hash, a remoção não pode apagar o conteúdo.
+ */
+class ArmazenamentoLocalTests {
+
+    private static final byte[] PNG = {
+            (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'
+    };
+
+    @Test
+    void hashReservadoNaoEhRemovido(@TempDir Path dir) throws Exception {
+        ArmazenamentoLocal armazenamento = new ArmazenamentoLocal(dir.toString());
+
+        ArquivoArmazenado primeiro = armazenamento.gravar(new ByteArrayInputStream(PNG));
+        armazenamento.soltar(primeiro.hash());
+
+        // segundo upload do mesmo conteúdo ainda não gravou a foto dele
+        ArquivoArmazenado repetido = armazenamento.gravar(new ByteArrayInputStream(PNG));
+        assertThat(repetido.novo()).isFalse();
+        assertThat(armazenamento.removerSeSemUso(primeiro.hash(), () -> true)).isFalse();
+        assertThat(armazenamento.existe(primeiro.hash())).isTrue();
+
+        armazenamento.soltar(repetido.hash());
+        assertThat(armazenamento.removerSeSemUso(primeiro.hash(), () -> false)).isFalse();
+        assertThat(armazenamento.removerSeSemUso(primeiro.hash(), () -> true)).isTrue();
+        assertThat(armazenamento.existe(primeiro.hash())).isFalse();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo;
+
+import com.example.demo.Models.UserModel;
+
+/** Usuários prontos para os testes (ainda não persistidos). */
+public final class UsuariosDeTeste {
+
+    private UsuariosDeTeste() {}
+
+    /** Corretor com senha qualquer; quem chama salva/persiste se precisar */
+    public static UserModel corretor(String nome, String email) {
+        UserModel u = new UserModel();
+        u.setName(nome);
+        u.setEmail(email);
+        u.setRole("CORRETOR");
+        u.setPassword("x");
+        return u;
+    }
+
+    public static UserModel corretor() {
+        return corretor("Corretor", "corretor@teste.com");
+    }
+}
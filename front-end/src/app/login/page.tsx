@@ -7,6 +7,7 @@ import { getCurrentUserClient } from "@/src/lib/auth";
 
 type AuthResponse = {
   token: string;
+  refreshToken?: string;
   user?: {
     id?: number;
     name?: string;
@@ -87,6 +88,7 @@ export default function LoginPage() {
       }
 
       localStorage.setItem("token", data.token);
+      if (data.refreshToken) localStorage.setItem("refreshToken", data.refreshToken);
 
       if (data.user) {
         if (data.user.role) localStorage.setItem("role", data.user.role);
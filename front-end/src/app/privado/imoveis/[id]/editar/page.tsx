@@ -6,6 +6,7 @@ import { useParams, useRouter } from "next/navigation";
 import Menu from "@/src/components/Menu";
 import {
   Bairro,
+  Imovel,
   TipoImovel,
   listarBairros,
   listarTiposImoveis,
@@ -35,6 +36,43 @@ type FormState = {
   tipoImovelId: string;
 };
 
+// FormState → corpo do PATCH (vazio vira null para conseguir limpar o campo)
+function paraEnvio(f: FormState) {
+  const decimal = (value: string): number | null =>
+    value ? Number(value.replace(",", ".")) : null;
+
+  return {
+    titulo: f.titulo,
+    descricao: f.descricao,
+    caracteristicas: f.caracteristicas || null,
+    finalidade: f.finalidade,
+    precoVenda: decimal(f.precoVenda),
+    precoAluguel: decimal(f.precoAluguel),
+    endereco: f.endereco,
+    numero: f.numero,
+    cep: f.cep,
+    complemento: f.complemento || null,
+    status: f.status,
+    destaque: f.destaque,
+    dormitorios: f.dormitorios ? Number(f.dormitorios) : 0,
+    banheiros: f.banheiros ? Number(f.banheiros) : 0,
+    garagem: f.garagem ? Number(f.garagem) : 0,
+    areaConstruida: decimal(f.areaConstruida),
+    areaTotal: decimal(f.areaTotal),
+    bairroId: f.bairroId ? Number(f.bairroId) : null,
+    tipoImovelId: f.tipoImovelId ? Number(f.tipoImovelId) : null,
+  };
+}
+
+// o back responde erros como {"message": "..."}; o 409 explica o conflito de versão
+function mensagemDaApi(erro: Error): string {
+  try {
+    return JSON.parse(erro.message).message ?? erro.message;
+  } catch {
+    return erro.message;
+  }
+}
+
 export default function EditarImovelPage() {
   const params = useParams();
   const router = useRouter();
@@ -63,6 +101,9 @@ export default function EditarImovelPage() {
     bairroId: "",
     tipoImovelId: "",
   });
+  // o que veio do back, para o PATCH levar só o que mudou
+  const [original, setOriginal] = useState<FormState | null>(null);
+  const [versao, setVersao] = useState<number | undefined>(undefined);
   const [mensagem, setMensagem] = useState<string | null>(null);
   const [carregando, setCarregando] = useState(true);
   const [salvando, setSalvando] = useState(false);
@@ -94,7 +135,7 @@ export default function EditarImovelPage() {
         const imovel = await buscarImovel(id);
 
         // Preenche o form com o que vier do back
-        setForm({
+        const carregado: FormState = {
           titulo: imovel.titulo ?? "",
           descricao: imovel.descricao ?? "",
           caracteristicas: imovel.caracteristicas ?? "",
@@ -130,7 +171,10 @@ export default function EditarImovelPage() {
             : (imovel as any).tipoImovel?.id
             ? String((imovel as any).tipoImovel.id)
             : "",
-        });
+        };
+        setForm(carregado);
+        setOriginal(carregado);
+        setVersao(imovel.versao);
       } catch (erro) {
         console.error(erro);
         setMensagem(
@@ -154,51 +198,31 @@ export default function EditarImovelPage() {
     try {
       setSalvando(true);
 
-      const dormitorios = form.dormitorios ? Number(form.dormitorios) : 0;
-      const banheiros = form.banheiros ? Number(form.banheiros) : 0;
-      const garagem = form.garagem ? Number(form.garagem) : 0;
-
-      const parseDecimal = (value: string): number | null => {
-        if (!value) return null;
-        return Number(value.replace(",", "."));
-      };
+      const dados = paraEnvio(form);
+      const antes = original ? paraEnvio(original) : null;
+      const alterados: Partial<Imovel> = {};
+      for (const campo of Object.keys(dados) as (keyof typeof dados)[]) {
+        if (JSON.stringify(dados[campo]) !== JSON.stringify(antes?.[campo])) {
+          (alterados as Record<string, unknown>)[campo] = dados[campo];
+        }
+      }
 
-      const precoVenda = parseDecimal(form.precoVenda);
-      const precoAluguel = parseDecimal(form.precoAluguel);
-      const areaConstruida = parseDecimal(form.areaConstruida);
-      const areaTotal = parseDecimal(form.areaTotal);
+      if (Object.keys(alterados).length === 0) {
+        setMensagem("Nenhuma alteração para salvar.");
+        return;
+      }
 
       // Usa a função da lib/api (rota autenticada, com token)
-      await atualizarImovel(id, {
-        titulo: form.titulo,
-        descricao: form.descricao,
-        caracteristicas: form.caracteristicas || undefined,
-        finalidade: form.finalidade,
-        precoVenda,
-        precoAluguel,
-        endereco: form.endereco,
-        numero: form.numero,
-        cep: form.cep,
-        complemento: form.complemento || undefined,
-        status: form.status,
-        destaque: form.destaque,
-        dormitorios,
-        banheiros,
-        garagem,
-        areaConstruida,
-        areaTotal,
-        bairroId: form.bairroId ? Number(form.bairroId) : undefined,
-        tipoImovelId: form.tipoImovelId
-          ? Number(form.tipoImovelId)
-          : undefined,
-      });
+      const atualizado = await atualizarImovel(id, { ...alterados, versao });
+      setOriginal(form);
+      setVersao(atualizado.versao);
 
       setMensagem("Imóvel atualizado com sucesso.");
       // Se quiser redirecionar de volta:
       // router.push("/privado/imoveis");
     } catch (error) {
       console.error(error);
-      setMensagem("Erro ao salvar imóvel: " + (error as Error).message);
+      setMensagem("Erro ao salvar imóvel: " + mensagemDaApi(error as Error));
     } finally {
       setSalvando(false);
     }
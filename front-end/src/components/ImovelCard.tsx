@@ -28,11 +28,18 @@ export default function ImovelCard({ imovel }: Props) {
   const anyImovel = imovel as any;
 
   // ===== Fotos =====
+  // listagens já trazem a URL da capa em tamanho de card (/fotos/{id}/arquivo?tamanho=card)
   const fotos = Array.isArray(anyImovel.fotos) ? anyImovel.fotos : [];
-  const capa =
+  const capaFoto =
     fotos && fotos.length > 0
       ? fotos.find((f: any) => f?.capa) ?? fotos[0]
       : undefined;
+  const capaSrc: string | undefined =
+    typeof anyImovel.capa === "string" && anyImovel.capa
+      ? anyImovel.capa.startsWith("/fotos/")
+        ? `${process.env.NEXT_PUBLIC_API_BASE ?? ""}${anyImovel.capa}`
+        : anyImovel.capa
+      : capaFoto?.caminho ?? capaFoto?.url;
 
   // ===== Bairro (pode ser string ou objeto) =====
   const rawBairro = anyImovel.bairro;
@@ -76,12 +83,14 @@ export default function ImovelCard({ imovel }: Props) {
   return (
     <article className="flex flex-col overflow-hidden rounded-xl border border-gray-200 bg-white shadow-sm hover:shadow-md transition-shadow">
       {/* Imagem de capa (se existir) */}
-      {capa && (
+      {capaSrc && (
         <div className="relative w-full h-48">
+          {/* o back-end já entrega o card reduzido (JPEG progressivo): sem otimizador do Next */}
           <Image
-            src={capa.caminho ?? capa.url ?? "/placeholder.jpg"}
+            src={capaSrc}
             alt={anyImovel.titulo ?? "Imóvel"}
             fill
+            unoptimized
             className="object-cover"
           />
         </div>
@@ -5,6 +5,7 @@ import Link from "next/link";
 import { useEffect, useState } from "react";
 import { useRouter } from "next/navigation";
 import { getCurrentUserClient, type AuthUser } from "@/src/lib/auth";
+import { sair } from "@/src/lib/api";
 
 export default function Menu() {
   const router = useRouter();
@@ -17,7 +18,7 @@ export default function Menu() {
 
   function handleLogout() {
     if (typeof window !== "undefined") {
-      localStorage.removeItem("token");
+      void sair();
     }
     setUser(null);
     router.replace("/publica");
@@ -57,6 +57,12 @@ export type Imovel = {
 
   // dono do imóvel (corretor)
   usuarioId?: number;
+
+  // trava otimista: devolvida no PATCH, muda a cada gravação
+  versao?: number;
+
+  // URL da foto de capa em tamanho de card (listagens)
+  capa?: string | null;
 };
 
 export type NovoUsuario = {
@@ -77,10 +83,38 @@ export type Usuario = {
 // Função base da API
 // =======================
 
+// O token de acesso dura poucos minutos; com 401 troca o refreshToken
+// por um par novo (uma vez) e repete a chamada.
+let renovacaoEmAndamento: Promise<boolean> | null = null;
+
+async function renovarToken(base: string): Promise<boolean> {
+  const refreshToken = localStorage.getItem("refreshToken");
+  if (!refreshToken) return false;
+
+  const res = await fetch(base.replace(/\/$/, "") + "/auth/refresh", {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    body: JSON.stringify({ refreshToken }),
+    cache: "no-store",
+  }).catch(() => null);
+
+  if (!res || !res.ok) {
+    localStorage.removeItem("token");
+    localStorage.removeItem("refreshToken");
+    return false;
+  }
+
+  const data = await res.json();
+  localStorage.setItem("token", data.token);
+  localStorage.setItem("refreshToken", data.refreshToken);
+  return true;
+}
+
 async function baseApi<T>(
   path: string,
   init: RequestInit = {},
-  withAuth: boolean
+  withAuth: boolean,
+  renovou = false
 ): Promise<T> {
   const base = process.env.NEXT_PUBLIC_API_BASE;
 
@@ -116,6 +150,16 @@ async function baseApi<T>(
     cache: init.cache ?? "no-store",
   });
 
+  if (res.status === 401 && withAuth && !renovou && typeof window !== "undefined") {
+    // várias chamadas em paralelo esperam a mesma renovação (o refresh vale uma vez só)
+    renovacaoEmAndamento ??= renovarToken(base).finally(() => {
+      renovacaoEmAndamento = null;
+    });
+    if (await renovacaoEmAndamento) {
+      return baseApi<T>(path, init, withAuth, true);
+    }
+  }
+
   if (!res.ok) {
     const txt = await res.text().catch(() => "");
     throw new Error(txt || `HTTP ${res.status}`);
@@ -152,6 +196,25 @@ export async function api<T>(
   return baseApi<T>(path, init, true);
 }
 
+// Revoga o token atual e o refreshToken no backend e limpa o navegador
+export async function sair(): Promise<void> {
+  const base = process.env.NEXT_PUBLIC_API_BASE;
+  const token = localStorage.getItem("token");
+  const refreshToken = localStorage.getItem("refreshToken");
+  localStorage.removeItem("token");
+  localStorage.removeItem("refreshToken");
+  if (!base) return;
+
+  await fetch(base.replace(/\/$/, "") + "/auth/logout", {
+    method: "POST",
+    headers: {
+      "Content-Type": "application/json",
+      ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+    body: JSON.stringify({ refreshToken }),
+  }).catch(() => undefined);
+}
+
 // =======================
 // Imóveis
 // =======================
@@ -181,13 +244,13 @@ export async function criarImovel(
   });
 }
 
+// PATCH: manda só os campos alterados + a versão lida; 409 se outra pessoa salvou antes
 export async function atualizarImovel(
   id: number | string,
   dados: Partial<Imovel>
-): Promise<void> {
-  // não exige estar logado – chamada pública
-  return apiPublic<void>(`/imoveis/${id}`, {
-    method: "PUT",
+): Promise<Imovel> {
+  return api<Imovel>(`/imoveis/${id}`, {
+    method: "PATCH",
     body: JSON.stringify(dados),
   });
 }